@@ -1,13 +1,17 @@
 # Database Export Script
 Write-Host "=== Database Export Options ===" -ForegroundColor Cyan
 
-# Option 1: File Copy
+# Option 1: Online backup (safe while the app is running)
 if (Test-Path "cosplay.db") {
     $timestamp = Get-Date -Format 'yyyyMMdd_HHmmss'
-    $backupFile = "cosplay_backup_$timestamp.db"
-    Copy-Item "cosplay.db" $backupFile
-    Write-Host "✓ Database copied to: $backupFile" -ForegroundColor Green
-    Write-Host "  File size: $([math]::Round((Get-Item $backupFile).Length / 1MB, 2)) MB" -ForegroundColor Gray
+    mvn -q compile exec:java "-Dexec.mainClass=com.cosplay.util.BackupService" "-Dexec.args=backup" "-Djava.awt.headless=true"
+    if ($LASTEXITCODE -ne 0) {
+        Write-Host "✗ Backup failed" -ForegroundColor Red
+        exit 1
+    }
+    $backupFile = Get-ChildItem "backups" -Filter "cosplay_backup_*.db" | Sort-Object Name -Descending | Select-Object -First 1
+    Write-Host "✓ Database backed up to: backups\$($backupFile.Name)" -ForegroundColor Green
+    Write-Host "  File size: $([math]::Round($backupFile.Length / 1MB, 2)) MB" -ForegroundColor Gray
 } else {
     Write-Host "✗ cosplay.db not found!" -ForegroundColor Red
     exit 1
@@ -2,20 +2,40 @@ package com.cosplay;
 
 import com.cosplay.ui.SceneNavigator;
 import com.cosplay.ui.Views;
+import com.cosplay.util.BackupService;
 import com.cosplay.util.CallbackServer;
 import com.cosplay.util.Database;
+import com.cosplay.util.PerformanceConfig;
+import com.cosplay.util.PerformanceProfile;
+import com.cosplay.util.SqlProfiler;
 import javafx.application.Application;
+import javafx.geometry.Rectangle2D;
+import javafx.stage.Screen;
 import javafx.stage.Stage;
 import javafx.scene.image.Image;
 
+import java.nio.file.Paths;
+import java.time.Duration;
+
 public class Launcher extends Application {
     private static CallbackServer callbackServer;
+    // Online backups into ./backups every few hours; the newest BACKUPS_TO_KEEP files are kept
+    private static final Duration BACKUP_INTERVAL = Duration.ofHours(4);
+    private static final int BACKUPS_TO_KEEP = 14;
+    private static BackupService backupService;
     
     @Override
     public void start(Stage stage) {
+        // Let the performance profile see the screen before anything reads PerformanceConfig
+        Rectangle2D screen = Screen.getPrimary().getBounds();
+        PerformanceProfile.setScreenSize(screen.getWidth(), screen.getHeight());
+
         // Ensure database and tables exist before any DAO operations
         Database.init();
         
+        backupService = new BackupService(Paths.get("backups"), BACKUPS_TO_KEEP);
+        backupService.start(BACKUP_INTERVAL);
+        
         // Start callback server for OAuth and email verification
         try {
             callbackServer = new CallbackServer();
@@ -35,6 +55,13 @@ public class Launcher extends Application {
             if (callbackServer != null) {
                 callbackServer.stop();
             }
+            backupService.stop();
+            // Per-template statistics are only kept with -Dcosplay.sql.profile=true
+            if (SqlProfiler.isEnabled()) {
+                System.out.println(SqlProfiler.report(20));
+                PerformanceConfig.logCatalogCacheStats();
+                PerformanceConfig.logImageLoaderStats();
+            }
             // Close database connection pool
             Database.close();
         });
@@ -0,0 +1,224 @@
+package com.cosplay.dao;
+
+import java.util.Arrays;
+import java.util.function.Supplier;
+
+/**
+ * Booked days of every cosplay, held in memory so {@link RentalDAO#isAvailable} and the
+ * details calendar don't query SQLite.
+ *
+ * Each cosplay keeps its active rentals (Pending, Confirmed, Rented) as epoch-day intervals,
+ * plus a bitmap with one bit per day from its earliest booked day to its latest. Checks read
+ * bits straight out of long words and allocate nothing. Cosplays are found by id in a plain
+ * array, since ids are dense. The index is loaded on first use and RentalDAO updates it
+ * after createRental and updateRentalStatus commit.
+ */
+final class AvailabilityIndex {
+
+    private static final class Bookings {
+        int[] rentalIds = new int[2];
+        long[] starts = new long[2];
+        long[] ends = new long[2];
+        int size;
+        long firstDay; // epoch day of bit 0 of words[0]; a multiple of 64
+        long[] words = new long[0];
+
+        void add(int rentalId, long start, long end) {
+            if (size == rentalIds.length) {
+                rentalIds = Arrays.copyOf(rentalIds, size * 2);
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            rentalIds[size] = rentalId;
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+            mark(start, end);
+        }
+
+        void remove(int rentalId) {
+            for (int i = 0; i < size; i++) {
+                if (rentalIds[i] == rentalId) {
+                    size--;
+                    rentalIds[i] = rentalIds[size];
+                    starts[i] = starts[size];
+                    ends[i] = ends[size];
+                    // Rentals may overlap in legacy data, so redraw the bits from what is left
+                    Arrays.fill(words, 0L);
+                    for (int j = 0; j < size; j++) {
+                        mark(starts[j], ends[j]);
+                    }
+                    return;
+                }
+            }
+        }
+
+        void mark(long start, long end) {
+            if (end < start) {
+                return;
+            }
+            cover(start, end);
+            for (long day = start; day <= end; ) {
+                long offset = day - firstDay;
+                int word = (int) (offset >>> 6);
+                int from = (int) (offset & 63);
+                int to = (int) Math.min(63, from + (end - day));
+                words[word] |= rangeMask(from, to);
+                day += to - from + 1;
+            }
+        }
+
+        boolean anyBooked(long start, long end) {
+            start = Math.max(start, firstDay);
+            end = Math.min(end, firstDay + 64L * words.length - 1);
+            for (long day = start; day <= end; ) {
+                long offset = day - firstDay;
+                int word = (int) (offset >>> 6);
+                int from = (int) (offset & 63);
+                int to = (int) Math.min(63, from + (end - day));
+                if ((words[word] & rangeMask(from, to)) != 0) {
+                    return true;
+                }
+                day += to - from + 1;
+            }
+            return false;
+        }
+
+        boolean isBooked(long day) {
+            long offset = day - firstDay;
+            if (offset < 0 || offset >= 64L * words.length) {
+                return false;
+            }
+            return (words[(int) (offset >>> 6)] & (1L << (offset & 63))) != 0;
+        }
+
+        // Grow the bitmap so it spans [start, end]
+        private void cover(long start, long end) {
+            long newFirst = Math.floorDiv(start, 64) * 64;
+            long newLast = Math.floorDiv(end, 64) * 64;
+            if (words.length > 0) {
+                newFirst = Math.min(newFirst, firstDay);
+                newLast = Math.max(newLast, firstDay + 64L * (words.length - 1));
+                if (newFirst == firstDay && newLast == firstDay + 64L * (words.length - 1)) {
+                    return;
+                }
+            }
+            long[] grown = new long[(int) ((newLast - newFirst) / 64) + 1];
+            if (words.length > 0) {
+                System.arraycopy(words, 0, grown, (int) ((firstDay - newFirst) / 64), words.length);
+            }
+            words = grown;
+            firstDay = newFirst;
+        }
+
+        private static long rangeMask(int from, int to) {
+            return (-1L >>> (63 - (to - from))) << from;
+        }
+    }
+
+    // Indexed by cosplay_id; null until first loaded. Guarded by the class lock
+    private static Bookings[] byCosplay;
+    // Bumped by every write, so a load that raced a write is not installed
+    private static long version;
+
+    private AvailabilityIndex() {}
+
+    /** Whether a rental status holds its dates. */
+    static boolean isActive(String status) {
+        return "Pending".equals(status) || "Confirmed".equals(status) || "Rented".equals(status);
+    }
+
+    /**
+     * Load the index if it isn't yet. {@code loader} returns the active rentals as
+     * (rental_id, cosplay_id, start day, end day) quadruples in one flat array, or null
+     * if the read failed. Returns false if the index is still not loaded.
+     */
+    static boolean ensureLoaded(Supplier<long[]> loader) {
+        long seen;
+        synchronized (AvailabilityIndex.class) {
+            if (byCosplay != null) {
+                return true;
+            }
+            seen = version;
+        }
+        long[] rows = loader.get();
+        if (rows == null) {
+            return false;
+        }
+        Bookings[] loaded = new Bookings[0];
+        for (int i = 0; i + 3 < rows.length; i += 4) {
+            if (rows[i + 1] < 0) continue;
+            loaded = grow(loaded, (int) rows[i + 1]);
+            bookingsOf(loaded, (int) rows[i + 1]).add((int) rows[i], rows[i + 2], rows[i + 3]);
+        }
+        synchronized (AvailabilityIndex.class) {
+            if (byCosplay == null && version == seen) {
+                byCosplay = loaded;
+            }
+            return byCosplay != null;
+        }
+    }
+
+    /** No active rental of the cosplay touches any day in [startDay, endDay]. Call {@link #ensureLoaded} first. */
+    static synchronized boolean isFree(int cosplayId, long startDay, long endDay) {
+        Bookings b = find(cosplayId);
+        return b == null || !b.anyBooked(startDay, endDay);
+    }
+
+    /**
+     * Booked days among the {@code length} days from {@code firstDay}: bit i is set when
+     * day firstDay + i is booked. {@code length} is at most 64. Call {@link #ensureLoaded} first.
+     */
+    static synchronized long bookedMask(int cosplayId, long firstDay, int length) {
+        Bookings b = find(cosplayId);
+        long mask = 0;
+        if (b != null) {
+            for (int i = 0; i < length; i++) {
+                if (b.isBooked(firstDay + i)) mask |= 1L << i;
+            }
+        }
+        return mask;
+    }
+
+    /** Record a committed rental that holds its dates; replaces any earlier dates of the same rental. */
+    static synchronized void booked(int rentalId, int cosplayId, long startDay, long endDay) {
+        version++;
+        if (byCosplay == null || cosplayId < 0) {
+            return;
+        }
+        byCosplay = grow(byCosplay, cosplayId);
+        Bookings b = bookingsOf(byCosplay, cosplayId);
+        b.remove(rentalId);
+        b.add(rentalId, startDay, endDay);
+    }
+
+    /** Record a committed rental that no longer holds its dates. */
+    static synchronized void released(int rentalId, int cosplayId) {
+        version++;
+        Bookings b = find(cosplayId);
+        if (b != null) b.remove(rentalId);
+    }
+
+    static synchronized void invalidate() {
+        version++;
+        byCosplay = null;
+    }
+
+    private static Bookings find(int cosplayId) {
+        Bookings[] all = byCosplay;
+        return all != null && cosplayId >= 0 && cosplayId < all.length ? all[cosplayId] : null;
+    }
+
+    private static Bookings[] grow(Bookings[] all, int cosplayId) {
+        return cosplayId < all.length ? all : Arrays.copyOf(all, Math.max(cosplayId + 1, all.length * 2));
+    }
+
+    private static Bookings bookingsOf(Bookings[] all, int cosplayId) {
+        Bookings b = all[cosplayId];
+        if (b == null) {
+            b = new Bookings();
+            all[cosplayId] = b;
+        }
+        return b;
+    }
+}
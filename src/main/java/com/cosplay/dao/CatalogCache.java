@@ -0,0 +1,163 @@
+package com.cosplay.dao;
+
+import com.cosplay.model.Cosplay;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Read-through cache of the whole catalog for {@link CosplayDAO#getAll()},
+ * {@link CosplayDAO#findById(int)} and {@link CosplayDAO#findByIds}.
+ *
+ * The catalog is held as an immutable snapshot (the list plus an id index) behind one
+ * reference, so reads never lock. The first read loads it; after that CosplayDAO patches
+ * it once each add, update or delete has committed. Callers get copies, so editing a
+ * returned Cosplay never changes the cache.
+ *
+ * Only writes through CosplayDAO are seen. A tool that edits the database from another
+ * process should be followed by a restart or {@link CosplayDAO#invalidateCache()}.
+ */
+public final class CatalogCache {
+
+    private record Snapshot(List<Cosplay> all, Map<Integer, Cosplay> byId) {
+        // Takes ownership of the cosplays; nobody else may hold them
+        static Snapshot of(List<Cosplay> cosplays) {
+            Map<Integer, Cosplay> byId = new HashMap<>(cosplays.size() * 2);
+            for (Cosplay c : cosplays) {
+                byId.put(c.getId(), c);
+            }
+            return new Snapshot(Collections.unmodifiableList(cosplays), Collections.unmodifiableMap(byId));
+        }
+
+        Snapshot with(Cosplay c) {
+            List<Cosplay> updated = new ArrayList<>(all.size() + 1);
+            boolean replaced = false;
+            for (Cosplay existing : all) {
+                if (existing.getId() == c.getId()) {
+                    updated.add(c);
+                    replaced = true;
+                } else {
+                    updated.add(existing);
+                }
+            }
+            if (!replaced) updated.add(c); // new ids are the highest, so id order holds
+            return of(updated);
+        }
+
+        Snapshot without(int id) {
+            List<Cosplay> updated = new ArrayList<>(all);
+            updated.removeIf(c -> c.getId() == id);
+            return of(updated);
+        }
+    }
+
+    private static final AtomicReference<Snapshot> snapshot = new AtomicReference<>();
+    // Bumped by every write, so a load that raced a write is not cached
+    private static final AtomicLong version = new AtomicLong();
+    private static final AtomicLong hits = new AtomicLong();
+    private static final AtomicLong misses = new AtomicLong();
+
+    private CatalogCache() {}
+
+    /**
+     * Every cosplay in id order. {@code loader} reads the catalog from the database
+     * on a miss and returns null if that fails, so the failure is not cached.
+     */
+    static List<Cosplay> all(Supplier<List<Cosplay>> loader) {
+        List<Cosplay> all = load(loader).all();
+        List<Cosplay> copies = new ArrayList<>(all.size());
+        for (Cosplay c : all) {
+            copies.add(copy(c));
+        }
+        return copies;
+    }
+
+    /** The cached cosplay, or null if there is none with that id. */
+    static Cosplay byId(int id, Supplier<List<Cosplay>> loader) {
+        Cosplay c = load(loader).byId().get(id);
+        return c == null ? null : copy(c);
+    }
+
+    /** The cached cosplays among {@code ids}, keyed by id in the order given. */
+    static Map<Integer, Cosplay> byIds(Collection<Integer> ids, Supplier<List<Cosplay>> loader) {
+        Map<Integer, Cosplay> byId = load(loader).byId();
+        Map<Integer, Cosplay> found = new LinkedHashMap<>();
+        for (Integer id : ids) {
+            Cosplay c = id == null ? null : byId.get(id);
+            if (c != null) found.putIfAbsent(id, copy(c));
+        }
+        return found;
+    }
+
+    /** Record a committed insert or update. */
+    static void put(Cosplay c) {
+        version.incrementAndGet();
+        Cosplay own = copy(c);
+        snapshot.updateAndGet(s -> s == null ? null : s.with(own));
+    }
+
+    /** Record a committed delete. */
+    static void remove(int id) {
+        version.incrementAndGet();
+        snapshot.updateAndGet(s -> s == null ? null : s.without(id));
+    }
+
+    static void invalidate() {
+        version.incrementAndGet();
+        snapshot.set(null);
+    }
+
+    private static Snapshot load(Supplier<List<Cosplay>> loader) {
+        Snapshot s = snapshot.get();
+        if (s != null) {
+            hits.incrementAndGet();
+            return s;
+        }
+        misses.incrementAndGet();
+        long seen = version.get();
+        List<Cosplay> rows = loader.get();
+        if (rows == null) {
+            return Snapshot.of(new ArrayList<>()); // the load failed; try again next time
+        }
+        Snapshot loaded = Snapshot.of(rows);
+        if (version.get() == seen) {
+            snapshot.compareAndSet(null, loaded);
+        }
+        return loaded;
+    }
+
+    private static Cosplay copy(Cosplay c) {
+        Cosplay copy = new Cosplay(c.getName(), c.getCategory(), c.getSize(), c.getDescription(), c.getImagePath());
+        copy.setId(c.getId());
+        copy.setSeriesName(c.getSeriesName());
+        copy.setRentRate1Day(c.getRentRate1Day());
+        copy.setRentRate2Days(c.getRentRate2Days());
+        copy.setRentRate3Days(c.getRentRate3Days());
+        copy.setAddOns(c.getAddOns());
+        return copy;
+    }
+
+    /** Reads answered from the snapshot. */
+    public static long getHitCount() {
+        return hits.get();
+    }
+
+    /** Reads that had to load the catalog from the database. */
+    public static long getMissCount() {
+        return misses.get();
+    }
+
+    /** Cosplays in the snapshot, or 0 if it is not loaded. */
+    public static int size() {
+        Snapshot s = snapshot.get();
+        return s == null ? 0 : s.all().size();
+    }
+}
@@ -0,0 +1,136 @@
+package com.cosplay.dao;
+
+import com.cosplay.model.Cosplay;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.function.Supplier;
+
+/**
+ * Category → series → cosplay count, for the catalog's category dropdown.
+ *
+ * Built by one GROUP BY over idx_cosplays_category_series the first time it is asked for,
+ * then kept current by CosplayDAO after each add, update or delete commits, so the dropdown
+ * never rereads the table. Categories are grouped case-insensitively, like the category
+ * filter in {@link CosplayDAO#search}; series are exact, like the series filter.
+ */
+public final class CatalogFacets {
+
+    /** A series and how many cosplays belong to it. */
+    public record SeriesFacet(String series, int count) {}
+
+    /**
+     * A category, how many cosplays are in it (with or without a series)
+     * and its series sorted by name.
+     */
+    public record CategoryFacet(String category, int count, List<SeriesFacet> series) {}
+
+    /** The category and series of one cosplay row; either may be null. */
+    record Entry(String category, String series) {
+        static Entry of(Cosplay c) {
+            return new Entry(c.getCategory(), c.getSeriesName());
+        }
+    }
+
+    private static final Comparator<String> SERIES_ORDER =
+            String.CASE_INSENSITIVE_ORDER.thenComparing(Comparator.naturalOrder());
+
+    private static final class Category {
+        final String name; // spelling of the first cosplay seen in the category
+        int count;
+        final TreeMap<String, Integer> series = new TreeMap<>(SERIES_ORDER);
+
+        Category(String name) {
+            this.name = name;
+        }
+    }
+
+    // null until first loaded; guarded by the class lock
+    private static TreeMap<String, Category> index;
+    // Bumped by every write, so a load that raced a write is not installed
+    private static long version;
+
+    private CatalogFacets() {}
+
+    /**
+     * Every category with its count and series. {@code loader} runs the GROUP BY when the
+     * index is not built yet and returns null if that fails, so the failure is not kept.
+     */
+    static List<CategoryFacet> get(Supplier<Map<Entry, Integer>> loader) {
+        long seen;
+        synchronized (CatalogFacets.class) {
+            if (index != null) {
+                return view(index);
+            }
+            seen = version;
+        }
+        Map<Entry, Integer> counts = loader.get();
+        if (counts == null) {
+            return new ArrayList<>();
+        }
+        TreeMap<String, Category> loaded = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        counts.forEach((entry, count) -> adjust(loaded, entry, count));
+        synchronized (CatalogFacets.class) {
+            if (index == null && version == seen) {
+                index = loaded;
+            }
+            return view(loaded);
+        }
+    }
+
+    /** Record a committed insert. */
+    static synchronized void added(Entry entry) {
+        version++;
+        if (index != null) adjust(index, entry, 1);
+    }
+
+    /** Record a committed update; {@code before} is the row as it was before the update. */
+    static synchronized void changed(Entry before, Entry after) {
+        version++;
+        if (index != null) {
+            adjust(index, before, -1);
+            adjust(index, after, 1);
+        }
+    }
+
+    /** Record a committed delete. */
+    static synchronized void removed(Entry entry) {
+        version++;
+        if (index != null) adjust(index, entry, -1);
+    }
+
+    static synchronized void invalidate() {
+        version++;
+        index = null;
+    }
+
+    private static void adjust(TreeMap<String, Category> categories, Entry entry, int delta) {
+        if (entry == null || entry.category() == null || entry.category().isBlank()) {
+            return; // not reachable from the dropdown
+        }
+        Category category = categories.computeIfAbsent(entry.category(), Category::new);
+        category.count += delta;
+        if (category.count <= 0) {
+            categories.remove(entry.category());
+            return;
+        }
+        if (entry.series() != null && !entry.series().isEmpty()) {
+            int count = category.series.merge(entry.series(), delta, Integer::sum);
+            if (count <= 0) category.series.remove(entry.series());
+        }
+    }
+
+    private static List<CategoryFacet> view(TreeMap<String, Category> categories) {
+        List<CategoryFacet> facets = new ArrayList<>(categories.size());
+        for (Category category : categories.values()) {
+            List<SeriesFacet> series = new ArrayList<>(category.series.size());
+            category.series.forEach((name, count) -> series.add(new SeriesFacet(name, count)));
+            facets.add(new CategoryFacet(category.name, category.count, Collections.unmodifiableList(series)));
+        }
+        return Collections.unmodifiableList(facets);
+    }
+}
@@ -0,0 +1,71 @@
+package com.cosplay.dao;
+
+import java.time.LocalDate;
+
+/**
+ * Filters and sort order for {@link CosplayDAO#search}. Every filter is optional;
+ * blank strings count as "no filter". Build one up from {@link #ALL}:
+ * <pre>
+ *   CosplayCriteria.ALL.withCategory("Anime").withSort(CosplaySort.PRICE_ASC)
+ * </pre>
+ *
+ * @param text     full-text search: every word must start a word in the name, series,
+ *                 category, description or add-ons (e.g. "nar uzu" finds "Naruto Uzumaki"),
+ *                 ignoring case and accents; punctuation only separates words
+ * @param category exact category, case-insensitively
+ * @param series   exact series name
+ * @param minPrice lowest one-day rate, inclusive; unpriced costumes are excluded once either bound is set
+ * @param maxPrice highest one-day rate, inclusive
+ * @param freeFrom first day the costume must be free of active rentals; with only one of
+ *                 freeFrom and freeTo set, the costume must be free on that day
+ * @param freeTo   last day the costume must be free, inclusive
+ */
+public record CosplayCriteria(String text, String category, String series,
+                              Double minPrice, Double maxPrice,
+                              LocalDate freeFrom, LocalDate freeTo, CosplaySort sort) {
+
+    public static final CosplayCriteria ALL =
+            new CosplayCriteria(null, null, null, null, null, null, null, CosplaySort.DEFAULT);
+
+    public CosplayCriteria {
+        text = blankToNull(text);
+        category = blankToNull(category);
+        series = blankToNull(series);
+        if (freeFrom == null) freeFrom = freeTo;
+        if (freeTo == null) freeTo = freeFrom;
+        if (freeFrom != null && freeTo.isBefore(freeFrom)) {
+            LocalDate swap = freeFrom;
+            freeFrom = freeTo;
+            freeTo = swap;
+        }
+        if (sort == null) sort = CosplaySort.DEFAULT;
+    }
+
+    public CosplayCriteria withText(String text) {
+        return new CosplayCriteria(text, category, series, minPrice, maxPrice, freeFrom, freeTo, sort);
+    }
+
+    public CosplayCriteria withCategory(String category) {
+        return new CosplayCriteria(text, category, series, minPrice, maxPrice, freeFrom, freeTo, sort);
+    }
+
+    public CosplayCriteria withSeries(String series) {
+        return new CosplayCriteria(text, category, series, minPrice, maxPrice, freeFrom, freeTo, sort);
+    }
+
+    public CosplayCriteria withPriceRange(Double minPrice, Double maxPrice) {
+        return new CosplayCriteria(text, category, series, minPrice, maxPrice, freeFrom, freeTo, sort);
+    }
+
+    public CosplayCriteria withFreeBetween(LocalDate freeFrom, LocalDate freeTo) {
+        return new CosplayCriteria(text, category, series, minPrice, maxPrice, freeFrom, freeTo, sort);
+    }
+
+    public CosplayCriteria withSort(CosplaySort sort) {
+        return new CosplayCriteria(text, category, series, minPrice, maxPrice, freeFrom, freeTo, sort);
+    }
+
+    private static String blankToNull(String s) {
+        return s == null || s.isBlank() ? null : s.trim();
+    }
+}
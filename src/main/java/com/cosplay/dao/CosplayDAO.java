@@ -2,14 +2,34 @@ package com.cosplay.dao;
 
 import com.cosplay.model.Cosplay;
 import com.cosplay.util.Database;
+import com.cosplay.util.DbTime;
 
 import java.sql.*;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
 
 public class CosplayDAO {
 
+    static final RowMapper<Cosplay> MAPPER = RowMapper.builder(Cosplay::new)
+            .integer("cosplay_id", Cosplay::setId)
+            .string("name", Cosplay::setName)
+            .string("category", Cosplay::setCategory)
+            .string("series_name", Cosplay::setSeriesName)
+            .string("size", Cosplay::setSize)
+            .string("description", Cosplay::setDescription)
+            .string("image_path", Cosplay::setImagePath)
+            .nullableDouble("rent_rate_1day", Cosplay::setRentRate1Day)
+            .nullableDouble("rent_rate_2days", Cosplay::setRentRate2Days)
+            .nullableDouble("rent_rate_3days", Cosplay::setRentRate3Days)
+            .string("add_ons", Cosplay::setAddOns)
+            .build();
+
     public void addCosplay(Cosplay c) {
         // Only admins are allowed to add cosplays
         var user = com.cosplay.util.Session.getCurrentUser();
@@ -17,117 +37,294 @@ public class CosplayDAO {
             throw new SecurityException("Only admin users can add cosplays.");
         }
         String sql = "INSERT INTO cosplays(name, category, series_name, size, description, image_path, rent_rate_1day, rent_rate_2days, rent_rate_3days, add_ons) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = Database.connect();
-             PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
-            ps.setString(1, c.getName());
-            ps.setString(2, c.getCategory());
-            ps.setString(3, c.getSeriesName());
-            ps.setString(4, c.getSize());
-            ps.setString(5, c.getDescription());
-            ps.setString(6, c.getImagePath());
-            if (c.getRentRate1Day() != null) {
-                ps.setDouble(7, c.getRentRate1Day());
-            } else {
-                ps.setNull(7, java.sql.Types.REAL);
-            }
-            if (c.getRentRate2Days() != null) {
-                ps.setDouble(8, c.getRentRate2Days());
-            } else {
-                ps.setNull(8, java.sql.Types.REAL);
-            }
-            if (c.getRentRate3Days() != null) {
-                ps.setDouble(9, c.getRentRate3Days());
-            } else {
-                ps.setNull(9, java.sql.Types.REAL);
-            }
-            ps.setString(10, c.getAddOns());
-            ps.executeUpdate();
-            try (ResultSet rs = ps.getGeneratedKeys()) {
-                if (rs.next()) c.setId(rs.getInt(1));
-            }
+        try {
+            Database.write(conn -> {
+                try (PreparedStatement ps = conn.prepareStatement(sql, Statement.RETURN_GENERATED_KEYS)) {
+                    ps.setString(1, c.getName());
+                    ps.setString(2, c.getCategory());
+                    ps.setString(3, c.getSeriesName());
+                    ps.setString(4, c.getSize());
+                    ps.setString(5, c.getDescription());
+                    ps.setString(6, c.getImagePath());
+                    if (c.getRentRate1Day() != null) {
+                        ps.setDouble(7, c.getRentRate1Day());
+                    } else {
+                        ps.setNull(7, java.sql.Types.REAL);
+                    }
+                    if (c.getRentRate2Days() != null) {
+                        ps.setDouble(8, c.getRentRate2Days());
+                    } else {
+                        ps.setNull(8, java.sql.Types.REAL);
+                    }
+                    if (c.getRentRate3Days() != null) {
+                        ps.setDouble(9, c.getRentRate3Days());
+                    } else {
+                        ps.setNull(9, java.sql.Types.REAL);
+                    }
+                    ps.setString(10, c.getAddOns());
+                    ps.executeUpdate();
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        if (rs.next()) c.setId(rs.getInt(1));
+                    }
+                }
+                return null;
+            });
+            CatalogCache.put(c);
+            CatalogFacets.added(CatalogFacets.Entry.of(c));
         } catch (SQLException e) {
             e.printStackTrace();
         }
     }
 
+    /** The whole catalog in id order, served from {@link CatalogCache}. */
     public List<Cosplay> getAll() {
-        List<Cosplay> list = new ArrayList<>();
-        String sql = "SELECT * FROM cosplays";
+        return CatalogCache.all(this::loadAll);
+    }
+
+    // Cache loader; null on failure so an error is not cached as an empty catalog
+    private List<Cosplay> loadAll() {
+        String sql = "SELECT * FROM cosplays ORDER BY cosplay_id";
         try (Connection conn = Database.connect();
              Statement st = conn.createStatement();
              ResultSet rs = st.executeQuery(sql)) {
-            while (rs.next()) {
-                Cosplay c = new Cosplay();
-                c.setId(rs.getInt("cosplay_id"));
-                c.setName(rs.getString("name"));
-                c.setCategory(rs.getString("category"));
-                c.setSeriesName(rs.getString("series_name"));
-                c.setSize(rs.getString("size"));
-                c.setDescription(rs.getString("description"));
-                c.setImagePath(rs.getString("image_path"));
-                c.setRentRate1Day(rs.getObject("rent_rate_1day") != null ? rs.getDouble("rent_rate_1day") : null);
-                c.setRentRate2Days(rs.getObject("rent_rate_2days") != null ? rs.getDouble("rent_rate_2days") : null);
-                c.setRentRate3Days(rs.getObject("rent_rate_3days") != null ? rs.getDouble("rent_rate_3days") : null);
-                c.setAddOns(rs.getString("add_ons"));
-                list.add(c);
-            }
+            return MAPPER.list(rs);
         } catch (SQLException e) {
             e.printStackTrace();
         }
-        return list;
+        return null;
     }
 
-    public Optional<Cosplay> findById(int id) {
-        String sql = "SELECT * FROM cosplays WHERE cosplay_id = ?";
+    /** Drop the cached catalog and facet counts, e.g. after another process changed the database. */
+    public void invalidateCache() {
+        CatalogCache.invalidate();
+        CatalogFacets.invalidate();
+    }
+
+    /** {@link #getAll()} off the FX thread; completes on the FX thread. */
+    public CompletableFuture<List<Cosplay>> getAllAsync() {
+        return DaoExecutor.supply(this::getAll);
+    }
+
+    /**
+     * One page of the catalog in the given order, starting after {@code after}
+     * (null for the first page). Each page is a single index seek, however deep.
+     */
+    public Page<Cosplay> getPage(CosplaySort sort, Page.Cursor after, int limit) {
+        return search(CosplayCriteria.ALL.withSort(sort), after, limit);
+    }
+
+    /** {@link #getPage(CosplaySort, Page.Cursor, int)} off the FX thread; completes on the FX thread. */
+    public CompletableFuture<Page<Cosplay>> getPageAsync(CosplaySort sort, Page.Cursor after, int limit) {
+        return DaoExecutor.supply(() -> getPage(sort, after, limit));
+    }
+
+    /**
+     * One page of the cosplays matching {@code criteria}, in its sort order, starting
+     * after {@code after} (null for the first page). Filtering, sorting and paging all
+     * happen in one parameterized query.
+     */
+    public Page<Cosplay> search(CosplayCriteria criteria, Page.Cursor after, int limit) {
+        Map<Integer, Double> relevance = new HashMap<>();
+        List<Cosplay> rows = query(criteria, after, limit + 1, relevance);
+        Function<Cosplay, Object> key = effectiveSort(criteria) == CosplaySort.RELEVANCE
+                ? c -> relevance.get(c.getId())
+                : criteria.sort()::keyOf;
+        return Page.of(rows, limit, key, Cosplay::getId);
+    }
+
+    /** {@link #search(CosplayCriteria, Page.Cursor, int)} off the FX thread; completes on the FX thread. */
+    public CompletableFuture<Page<Cosplay>> searchAsync(CosplayCriteria criteria, Page.Cursor after, int limit) {
+        return DaoExecutor.supply(() -> search(criteria, after, limit));
+    }
+
+    /** Every cosplay matching {@code criteria}, in its sort order. For short admin lists. */
+    public List<Cosplay> search(CosplayCriteria criteria) {
+        return query(criteria, null, -1, new HashMap<>());
+    }
+
+    /** {@link #search(CosplayCriteria)} off the FX thread; completes on the FX thread. */
+    public CompletableFuture<List<Cosplay>> searchAsync(CosplayCriteria criteria) {
+        return DaoExecutor.supply(() -> search(criteria));
+    }
+
+    /**
+     * Full-text search over name, series, category, description and add-ons, best match
+     * first. Every word must match the start of a word, so "demon sla" finds "Demon Slayer".
+     */
+    public List<Cosplay> fullTextSearch(String text, int limit) {
+        return search(CosplayCriteria.ALL.withText(text).withSort(CosplaySort.RELEVANCE), null, limit).items();
+    }
+
+    // RELEVANCE needs search text to rank by
+    private static CosplaySort effectiveSort(CosplayCriteria criteria) {
+        if (criteria.sort() == CosplaySort.RELEVANCE && toMatchQuery(criteria.text()) == null) {
+            return CosplaySort.DEFAULT;
+        }
+        return criteria.sort();
+    }
+
+    // limit -1 means no limit; bm25 scores of ranked rows are put in relevance
+    private List<Cosplay> query(CosplayCriteria criteria, Page.Cursor after, int limit, Map<Integer, Double> relevance) {
+        CosplaySort sort = effectiveSort(criteria);
+        String match = toMatchQuery(criteria.text());
+        boolean ranked = sort == CosplaySort.RELEVANCE;
+        List<String> conditions = new ArrayList<>();
+        List<Object> params = new ArrayList<>();
+
+        StringBuilder sql = new StringBuilder();
+        if (ranked) {
+            // Name hits weigh most, then series, category, and the free-text columns
+            sql.append("SELECT cosplays.*, f.relevance FROM cosplays JOIN (")
+               .append("SELECT rowid AS id, bm25(cosplays_fts, 10.0, 5.0, 2.0, 1.0, 1.0) AS relevance ")
+               .append("FROM cosplays_fts WHERE cosplays_fts MATCH ?) f ON cosplays.cosplay_id = f.id");
+            params.add(match);
+        } else {
+            sql.append("SELECT * FROM cosplays");
+            if (match != null) {
+                conditions.add("cosplay_id IN (SELECT rowid FROM cosplays_fts WHERE cosplays_fts MATCH ?)");
+                params.add(match);
+            }
+        }
+        if (criteria.category() != null) {
+            conditions.add("category = ? COLLATE NOCASE");
+            params.add(criteria.category());
+        }
+        if (criteria.series() != null) {
+            conditions.add("series_name = ?");
+            params.add(criteria.series());
+        }
+        if (criteria.minPrice() != null || criteria.maxPrice() != null) {
+            // Same expression as idx_cosplays_price_asc so the range can seek it
+            conditions.add("rent_rate_1day IS NOT NULL");
+            if (criteria.minPrice() != null) {
+                conditions.add("ifnull(rent_rate_1day, 1e308) >= ?");
+                params.add(criteria.minPrice());
+            }
+            if (criteria.maxPrice() != null) {
+                conditions.add("ifnull(rent_rate_1day, 1e308) <= ?");
+                params.add(criteria.maxPrice());
+            }
+        }
+        if (criteria.freeFrom() != null) {
+            // Anti-join: no active rental of this cosplay overlaps the range. Each probe
+            // is one seek into idx_rentals_active, the same index AvailabilityIndex loads from
+            conditions.add("NOT EXISTS (SELECT 1 FROM rentals r WHERE r.cosplay_id = cosplays.cosplay_id " +
+                           "AND r.status IN ('Pending','Confirmed','Rented') AND r.end_date >= ? AND r.start_date <= ?)");
+            params.add(DbTime.toEpochDay(criteria.freeFrom()));
+            params.add(DbTime.toEpochDay(criteria.freeTo()));
+        }
+
+        String dir = sort.descending ? " DESC" : "";
+        String cmp = sort.descending ? " < " : " > ";
+        String cmpOrEqual = sort.descending ? " <= " : " >= ";
+        String orderBy;
+        if (sort.keyExpression == null) {
+            if (after != null) {
+                conditions.add("cosplay_id" + cmp + "?");
+                params.add(after.id());
+            }
+            orderBy = " ORDER BY cosplay_id" + dir;
+        } else {
+            // Spelled out rather than as a row value (key, id) > (?, ?), which SQLite
+            // filters row by row instead of seeking the index to the cursor
+            String key = sort.keyExpression;
+            if (after != null) {
+                conditions.add(key + cmpOrEqual + "? AND (" + key + cmp + "? OR cosplay_id" + cmp + "?)");
+                params.add(after.key());
+                params.add(after.key());
+                params.add(after.id());
+            }
+            orderBy = " ORDER BY " + key + dir + ", cosplay_id" + dir;
+        }
+
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(orderBy);
+        if (limit >= 0) {
+            sql.append(" LIMIT ?");
+            params.add(limit);
+        }
+
         try (Connection conn = Database.connect();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, id);
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            for (int i = 0; i < params.size(); i++) {
+                ps.setObject(i + 1, params.get(i));
+            }
             try (ResultSet rs = ps.executeQuery()) {
-                if (rs.next()) {
-                    Cosplay c = new Cosplay();
-                    c.setId(rs.getInt("cosplay_id"));
-                    c.setName(rs.getString("name"));
-                    c.setCategory(rs.getString("category"));
-                    c.setSeriesName(rs.getString("series_name"));
-                    c.setSize(rs.getString("size"));
-                    c.setDescription(rs.getString("description"));
-                    c.setImagePath(rs.getString("image_path"));
-                    c.setRentRate1Day(rs.getObject("rent_rate_1day") != null ? rs.getDouble("rent_rate_1day") : null);
-                    c.setRentRate2Days(rs.getObject("rent_rate_2days") != null ? rs.getDouble("rent_rate_2days") : null);
-                    c.setRentRate3Days(rs.getObject("rent_rate_3days") != null ? rs.getDouble("rent_rate_3days") : null);
-                    c.setAddOns(rs.getString("add_ons"));
-                    return Optional.of(c);
+                if (!ranked) {
+                    return MAPPER.list(rs);
                 }
+                // Column positions are looked up once, not per row
+                RowMapper.Reader<Cosplay> reader = MAPPER.reader(rs);
+                int relevanceColumn = rs.findColumn("relevance");
+                List<Cosplay> rows = new ArrayList<>();
+                while (rs.next()) {
+                    Cosplay c = reader.read();
+                    relevance.put(c.getId(), rs.getDouble(relevanceColumn));
+                    rows.add(c);
+                }
+                return rows;
             }
-        } catch (SQLException e) { e.printStackTrace(); }
-        return Optional.empty();
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return new ArrayList<>();
+    }
+
+    /**
+     * Turn search-box text into an FTS5 query: each word quoted (so punctuation and
+     * FTS operators in the input are just text) and matched as a prefix, all words required.
+     * Null when there are no words to search for.
+     */
+    static String toMatchQuery(String text) {
+        if (text == null) return null;
+        StringBuilder query = new StringBuilder();
+        for (String word : text.split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty()) continue;
+            if (query.length() > 0) query.append(' ');
+            query.append('"').append(word).append("\"*");
+        }
+        return query.length() == 0 ? null : query.toString();
+    }
+
+    /** Served from {@link CatalogCache}. */
+    public Optional<Cosplay> findById(int id) {
+        return Optional.ofNullable(CatalogCache.byId(id, this::loadAll));
+    }
+
+    /** {@link #findById(int)} off the FX thread; completes on the FX thread. */
+    public CompletableFuture<Optional<Cosplay>> findByIdAsync(int id) {
+        return DaoExecutor.supply(() -> findById(id));
+    }
+
+    /**
+     * The cosplays with the given ids, keyed by id in the order asked for; ids with no
+     * cosplay are left out. One snapshot read from {@link CatalogCache} for the whole batch.
+     */
+    public Map<Integer, Cosplay> findByIds(Collection<Integer> ids) {
+        return CatalogCache.byIds(ids, this::loadAll);
     }
 
+    /** {@link #findByIds(Collection)} off the FX thread; completes on the FX thread. */
+    public CompletableFuture<Map<Integer, Cosplay>> findByIdsAsync(Collection<Integer> ids) {
+        return DaoExecutor.supply(() -> findByIds(ids));
+    }
+
+    /** Cosplays whose category contains a word starting with each word of {@code category}. */
     public List<Cosplay> searchByCategory(String category) {
-        List<Cosplay> list = new ArrayList<>();
-        String sql = "SELECT * FROM cosplays WHERE category LIKE ?";
+        String match = toMatchQuery(category);
+        if (match == null) return new ArrayList<>();
+        String sql = "SELECT * FROM cosplays WHERE cosplay_id IN " +
+                     "(SELECT rowid FROM cosplays_fts WHERE cosplays_fts MATCH ?) ORDER BY cosplay_id";
         try (Connection conn = Database.connect();
              PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, "%" + category + "%");
+            ps.setString(1, "category : (" + match + ")");
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    Cosplay c = new Cosplay();
-                    c.setId(rs.getInt("cosplay_id"));
-                    c.setName(rs.getString("name"));
-                    c.setCategory(rs.getString("category"));
-                    c.setSeriesName(rs.getString("series_name"));
-                    c.setSize(rs.getString("size"));
-                    c.setDescription(rs.getString("description"));
-                    c.setImagePath(rs.getString("image_path"));
-                    c.setRentRate1Day(rs.getObject("rent_rate_1day") != null ? rs.getDouble("rent_rate_1day") : null);
-                    c.setRentRate2Days(rs.getObject("rent_rate_2days") != null ? rs.getDouble("rent_rate_2days") : null);
-                    c.setRentRate3Days(rs.getObject("rent_rate_3days") != null ? rs.getDouble("rent_rate_3days") : null);
-                    c.setAddOns(rs.getString("add_ons"));
-                    list.add(c);
-                }
+                return MAPPER.list(rs);
             }
         } catch (SQLException e) { e.printStackTrace(); }
-        return list;
+        return new ArrayList<>();
     }
 
     public boolean updateCosplay(Cosplay c) {
@@ -136,32 +333,46 @@ public class CosplayDAO {
             throw new SecurityException("Only admin users can update cosplays.");
         }
         String sql = "UPDATE cosplays SET name = ?, category = ?, series_name = ?, size = ?, description = ?, image_path = ?, rent_rate_1day = ?, rent_rate_2days = ?, rent_rate_3days = ?, add_ons = ? WHERE cosplay_id = ?";
-        try (Connection conn = Database.connect();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, c.getName());
-            ps.setString(2, c.getCategory());
-            ps.setString(3, c.getSeriesName());
-            ps.setString(4, c.getSize());
-            ps.setString(5, c.getDescription());
-            ps.setString(6, c.getImagePath());
-            if (c.getRentRate1Day() != null) {
-                ps.setDouble(7, c.getRentRate1Day());
-            } else {
-                ps.setNull(7, java.sql.Types.REAL);
-            }
-            if (c.getRentRate2Days() != null) {
-                ps.setDouble(8, c.getRentRate2Days());
-            } else {
-                ps.setNull(8, java.sql.Types.REAL);
-            }
-            if (c.getRentRate3Days() != null) {
-                ps.setDouble(9, c.getRentRate3Days());
-            } else {
-                ps.setNull(9, java.sql.Types.REAL);
+        try {
+            CatalogFacets.Entry before = Database.write(conn -> {
+                CatalogFacets.Entry existing = facetEntry(conn, c.getId());
+                if (existing == null) {
+                    return null;
+                }
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ps.setString(1, c.getName());
+                    ps.setString(2, c.getCategory());
+                    ps.setString(3, c.getSeriesName());
+                    ps.setString(4, c.getSize());
+                    ps.setString(5, c.getDescription());
+                    ps.setString(6, c.getImagePath());
+                    if (c.getRentRate1Day() != null) {
+                        ps.setDouble(7, c.getRentRate1Day());
+                    } else {
+                        ps.setNull(7, java.sql.Types.REAL);
+                    }
+                    if (c.getRentRate2Days() != null) {
+                        ps.setDouble(8, c.getRentRate2Days());
+                    } else {
+                        ps.setNull(8, java.sql.Types.REAL);
+                    }
+                    if (c.getRentRate3Days() != null) {
+                        ps.setDouble(9, c.getRentRate3Days());
+                    } else {
+                        ps.setNull(9, java.sql.Types.REAL);
+                    }
+                    ps.setString(10, c.getAddOns());
+                    ps.setInt(11, c.getId());
+                    ps.executeUpdate();
+                    return existing;
+                }
+            });
+            if (before == null) {
+                return false;
             }
-            ps.setString(10, c.getAddOns());
-            ps.setInt(11, c.getId());
-            return ps.executeUpdate() > 0;
+            CatalogCache.put(c);
+            CatalogFacets.changed(before, CatalogFacets.Entry.of(c));
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -174,10 +385,24 @@ public class CosplayDAO {
             throw new SecurityException("Only admin users can delete cosplays.");
         }
         String sql = "DELETE FROM cosplays WHERE cosplay_id = ?";
-        try (Connection conn = Database.connect();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setInt(1, id);
-            return ps.executeUpdate() > 0;
+        try {
+            CatalogFacets.Entry removed = Database.write(conn -> {
+                CatalogFacets.Entry existing = facetEntry(conn, id);
+                if (existing == null) {
+                    return null;
+                }
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ps.setInt(1, id);
+                    ps.executeUpdate();
+                    return existing;
+                }
+            });
+            if (removed == null) {
+                return false;
+            }
+            CatalogCache.remove(id);
+            CatalogFacets.removed(removed);
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -198,5 +423,47 @@ public class CosplayDAO {
         }
         return categories;
     }
+
+    /**
+     * Categories with their cosplay counts and the series under each, both sorted, for the
+     * catalog's category dropdown. Served from {@link CatalogFacets}, which is kept current
+     * by this DAO's writes.
+     */
+    public List<CatalogFacets.CategoryFacet> getFacets() {
+        return CatalogFacets.get(this::loadFacetCounts);
+    }
+
+    /** {@link #getFacets()} off the FX thread; completes on the FX thread. */
+    public CompletableFuture<List<CatalogFacets.CategoryFacet>> getFacetsAsync() {
+        return DaoExecutor.supply(this::getFacets);
+    }
+
+    // Facet loader: counts straight off idx_cosplays_category_series; null on failure
+    private Map<CatalogFacets.Entry, Integer> loadFacetCounts() {
+        Map<CatalogFacets.Entry, Integer> counts = new HashMap<>();
+        String sql = "SELECT category, series_name, COUNT(*) FROM cosplays " +
+                     "WHERE category IS NOT NULL GROUP BY category, series_name";
+        try (Connection conn = Database.connect();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                counts.put(new CatalogFacets.Entry(rs.getString(1), rs.getString(2)), rs.getInt(3));
+            }
+            return counts;
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    // The category and series a row has now, read inside a write before it changes
+    private static CatalogFacets.Entry facetEntry(Connection conn, int id) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT category, series_name FROM cosplays WHERE cosplay_id = ?")) {
+            ps.setInt(1, id);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() ? new CatalogFacets.Entry(rs.getString(1), rs.getString(2)) : null;
+            }
+        }
+    }
 }
 
@@ -0,0 +1,56 @@
+package com.cosplay.dao;
+
+import com.cosplay.model.Cosplay;
+
+/**
+ * Catalog sort orders, each with a stable tie-break on cosplay_id so keyset pages never
+ * skip or repeat a row. The key expressions match the indexes created by schema version 4
+ * exactly; change both together. RELEVANCE ranks full-text matches and has no index.
+ */
+public enum CosplaySort {
+    DEFAULT("Default", null, false),
+    NAME_ASC("Name (A-Z)", "name COLLATE NOCASE", false),
+    NAME_DESC("Name (Z-A)", "name COLLATE NOCASE", true),
+    // Unpriced costumes sort last both ways, as they did in the old in-memory sort
+    PRICE_ASC("Price (Low to High)", "ifnull(rent_rate_1day, 1e308)", false),
+    PRICE_DESC("Price (High to Low)", "ifnull(rent_rate_1day, 0)", true),
+    // bm25 score of a full-text match (lower is better); same as DEFAULT when there is no search text
+    RELEVANCE("Best Match", "relevance", false);
+
+    private static final double UNPRICED_LOW_TO_HIGH = 1e308;
+
+    private final String label;
+    final String keyExpression;
+    final boolean descending;
+
+    CosplaySort(String label, String keyExpression, boolean descending) {
+        this.label = label;
+        this.keyExpression = keyExpression;
+        this.descending = descending;
+    }
+
+    /** Text shown in the catalog's sort dropdown. */
+    public String label() {
+        return label;
+    }
+
+    /** The sort for a dropdown label; DEFAULT for null or unknown labels. */
+    public static CosplaySort fromLabel(String label) {
+        for (CosplaySort sort : values()) {
+            if (sort.label.equals(label)) {
+                return sort;
+            }
+        }
+        return DEFAULT;
+    }
+
+    /** The value of {@link #keyExpression} for a row already read, used to build the next cursor. */
+    Object keyOf(Cosplay c) {
+        return switch (this) {
+            case DEFAULT, RELEVANCE -> null; // relevance comes from the query, see CosplayDAO.search
+            case NAME_ASC, NAME_DESC -> c.getName();
+            case PRICE_ASC -> c.getRentRate1Day() != null ? c.getRentRate1Day() : UNPRICED_LOW_TO_HIGH;
+            case PRICE_DESC -> c.getRentRate1Day() != null ? c.getRentRate1Day() : 0.0;
+        };
+    }
+}
@@ -0,0 +1,63 @@
+package com.cosplay.dao;
+
+import com.cosplay.util.Database;
+import javafx.application.Platform;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.function.Supplier;
+
+/**
+ * Runs DAO calls off the JavaFX Application Thread.
+ *
+ * Work runs on virtual threads, at most as many at once as there are reader connections,
+ * so a burst of screen loads queues here instead of inside the connection pool.
+ * The returned future is completed on the FX thread, so {@code thenAccept} callbacks
+ * can touch the scene graph directly:
+ * <pre>
+ *   cosplayDAO.getAllAsync().thenAccept(list -&gt; grid.getChildren().setAll(...));
+ * </pre>
+ * Outside a running JavaFX app (tools, scripts) futures complete on the worker thread.
+ */
+public final class DaoExecutor {
+
+    private static final ExecutorService VIRTUAL =
+            Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("cosplay-dao-", 0).factory());
+    private static final Semaphore PERMITS = new Semaphore(Database.getReaderPoolSize());
+
+    private DaoExecutor() {}
+
+    /**
+     * Run {@code work} in the background and complete the future with its result on the FX thread.
+     */
+    public static <T> CompletableFuture<T> supply(Supplier<T> work) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        VIRTUAL.execute(() -> {
+            PERMITS.acquireUninterruptibly();
+            try {
+                T value = work.get();
+                onFxThread(() -> future.complete(value));
+            } catch (Throwable t) {
+                System.err.println("Background DAO call failed: " + t);
+                onFxThread(() -> future.completeExceptionally(t));
+            } finally {
+                PERMITS.release();
+            }
+        });
+        return future;
+    }
+
+    static void onFxThread(Runnable r) {
+        if (Platform.isFxApplicationThread()) {
+            r.run();
+            return;
+        }
+        try {
+            Platform.runLater(r);
+        } catch (IllegalStateException toolkitNotRunning) {
+            r.run();
+        }
+    }
+}
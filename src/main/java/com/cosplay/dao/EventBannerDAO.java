@@ -7,8 +7,25 @@ import java.sql.*;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class EventBannerDAO {
+
+    static final RowMapper<EventBanner> MAPPER = RowMapper.builder(EventBanner::new)
+            .integer("id", EventBanner::setId)
+            .string("title", EventBanner::setTitle)
+            .string("message", EventBanner::setMessage)
+            .flag("is_active", EventBanner::setActive)
+            .string("background_color", EventBanner::setBackgroundColor)
+            .string("text_color", EventBanner::setTextColor)
+            .string("link_url", EventBanner::setLinkUrl)
+            .string("link_text", EventBanner::setLinkText)
+            .string("image_path", EventBanner::setImagePath)
+            .string("subtitle", EventBanner::setSubtitle)
+            .string("event_name", EventBanner::setEventName)
+            .string("venue", EventBanner::setVenue)
+            .string("onsite_rent_date", EventBanner::setOnsiteRentDate)
+            .build();
     
     /**
      * Get the currently active event banner (if any)
@@ -20,9 +37,7 @@ public class EventBannerDAO {
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
-            if (rs.next()) {
-                return Optional.of(mapResultSetToBanner(rs));
-            }
+            return MAPPER.first(rs);
         } catch (SQLException e) {
             System.err.println("Error getting active banner: " + e.getMessage());
         }
@@ -30,6 +45,13 @@ public class EventBannerDAO {
         return Optional.empty();
     }
     
+    /**
+     * {@link #getActiveBanner()} off the FX thread; completes on the FX thread.
+     */
+    public CompletableFuture<Optional<EventBanner>> getActiveBannerAsync() {
+        return DaoExecutor.supply(this::getActiveBanner);
+    }
+    
     /**
      * Get a specific banner by ID
      */
@@ -40,10 +62,8 @@ public class EventBannerDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, id);
-            ResultSet rs = pstmt.executeQuery();
-            
-            if (rs.next()) {
-                return Optional.of(mapResultSetToBanner(rs));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return MAPPER.first(rs);
             }
         } catch (SQLException e) {
             System.err.println("Error getting banner by ID: " + e.getMessage());
@@ -56,21 +76,25 @@ public class EventBannerDAO {
      * Get all event banners (for admin management)
      */
     public List<EventBanner> getAll() {
-        List<EventBanner> banners = new ArrayList<>();
         String sql = "SELECT * FROM event_banners ORDER BY id DESC";
         
         try (Connection conn = Database.connect();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
-            while (rs.next()) {
-                banners.add(mapResultSetToBanner(rs));
-            }
+            return MAPPER.list(rs);
         } catch (SQLException e) {
             System.err.println("Error getting all banners: " + e.getMessage());
         }
         
-        return banners;
+        return new ArrayList<>();
+    }
+    
+    /**
+     * {@link #getAll()} off the FX thread; completes on the FX thread.
+     */
+    public CompletableFuture<List<EventBanner>> getAllAsync() {
+        return DaoExecutor.supply(this::getAll);
     }
     
     /**
@@ -91,29 +115,31 @@ public class EventBannerDAO {
         String sql = "INSERT INTO event_banners (title, message, is_active, background_color, text_color, link_url, link_text, image_path, subtitle, event_name, venue, onsite_rent_date) " +
                      "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
         
-        try (Connection conn = Database.connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            // If this banner is being set as active, deactivate all others first
-            if (banner.isActive()) {
-                deactivateAll();
-            }
-            
-            pstmt.setString(1, banner.getTitle());
-            pstmt.setString(2, banner.getMessage());
-            pstmt.setBoolean(3, banner.isActive());
-            pstmt.setString(4, banner.getBackgroundColor());
-            pstmt.setString(5, banner.getTextColor());
-            pstmt.setString(6, banner.getLinkUrl());
-            pstmt.setString(7, banner.getLinkText());
-            pstmt.setString(8, banner.getImagePath());
-            pstmt.setString(9, banner.getSubtitle());
-            pstmt.setString(10, banner.getEventName());
-            pstmt.setString(11, banner.getVenue());
-            pstmt.setString(12, banner.getOnsiteRentDate());
-            
-            pstmt.executeUpdate();
-            return true;
+        try {
+            return Database.write(conn -> {
+                // If this banner is being set as active, deactivate all others first
+                if (banner.isActive()) {
+                    deactivateAll(conn);
+                }
+                
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, banner.getTitle());
+                    pstmt.setString(2, banner.getMessage());
+                    pstmt.setBoolean(3, banner.isActive());
+                    pstmt.setString(4, banner.getBackgroundColor());
+                    pstmt.setString(5, banner.getTextColor());
+                    pstmt.setString(6, banner.getLinkUrl());
+                    pstmt.setString(7, banner.getLinkText());
+                    pstmt.setString(8, banner.getImagePath());
+                    pstmt.setString(9, banner.getSubtitle());
+                    pstmt.setString(10, banner.getEventName());
+                    pstmt.setString(11, banner.getVenue());
+                    pstmt.setString(12, banner.getOnsiteRentDate());
+                    
+                    pstmt.executeUpdate();
+                    return true;
+                }
+            });
         } catch (SQLException e) {
             System.err.println("Error inserting banner: " + e.getMessage());
             return false;
@@ -129,30 +155,32 @@ public class EventBannerDAO {
                      "image_path = ?, subtitle = ?, event_name = ?, venue = ?, onsite_rent_date = ? " +
                      "WHERE id = ?";
         
-        try (Connection conn = Database.connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            // If this banner is being set as active, deactivate all others first
-            if (banner.isActive()) {
-                deactivateAll();
-            }
-            
-            pstmt.setString(1, banner.getTitle());
-            pstmt.setString(2, banner.getMessage());
-            pstmt.setBoolean(3, banner.isActive());
-            pstmt.setString(4, banner.getBackgroundColor());
-            pstmt.setString(5, banner.getTextColor());
-            pstmt.setString(6, banner.getLinkUrl());
-            pstmt.setString(7, banner.getLinkText());
-            pstmt.setString(8, banner.getImagePath());
-            pstmt.setString(9, banner.getSubtitle());
-            pstmt.setString(10, banner.getEventName());
-            pstmt.setString(11, banner.getVenue());
-            pstmt.setString(12, banner.getOnsiteRentDate());
-            pstmt.setInt(13, banner.getId());
-            
-            pstmt.executeUpdate();
-            return true;
+        try {
+            return Database.write(conn -> {
+                // If this banner is being set as active, deactivate all others first
+                if (banner.isActive()) {
+                    deactivateAll(conn);
+                }
+                
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setString(1, banner.getTitle());
+                    pstmt.setString(2, banner.getMessage());
+                    pstmt.setBoolean(3, banner.isActive());
+                    pstmt.setString(4, banner.getBackgroundColor());
+                    pstmt.setString(5, banner.getTextColor());
+                    pstmt.setString(6, banner.getLinkUrl());
+                    pstmt.setString(7, banner.getLinkText());
+                    pstmt.setString(8, banner.getImagePath());
+                    pstmt.setString(9, banner.getSubtitle());
+                    pstmt.setString(10, banner.getEventName());
+                    pstmt.setString(11, banner.getVenue());
+                    pstmt.setString(12, banner.getOnsiteRentDate());
+                    pstmt.setInt(13, banner.getId());
+                    
+                    pstmt.executeUpdate();
+                    return true;
+                }
+            });
         } catch (SQLException e) {
             System.err.println("Error updating banner: " + e.getMessage());
             return false;
@@ -165,12 +193,14 @@ public class EventBannerDAO {
     public boolean delete(int id) {
         String sql = "DELETE FROM event_banners WHERE id = ?";
         
-        try (Connection conn = Database.connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, id);
-            pstmt.executeUpdate();
-            return true;
+        try {
+            return Database.write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setInt(1, id);
+                    pstmt.executeUpdate();
+                    return true;
+                }
+            });
         } catch (SQLException e) {
             System.err.println("Error deleting banner: " + e.getMessage());
             return false;
@@ -178,17 +208,14 @@ public class EventBannerDAO {
     }
     
     /**
-     * Deactivate all banners (used when activating a new one)
+     * Deactivate all banners (used when activating a new one).
+     * Runs on the caller's writer connection so it commits together with the activation.
      */
-    private void deactivateAll() {
+    private void deactivateAll(Connection conn) throws SQLException {
         String sql = "UPDATE event_banners SET is_active = 0";
         
-        try (Connection conn = Database.connect();
-             Statement stmt = conn.createStatement()) {
-            
+        try (Statement stmt = conn.createStatement()) {
             stmt.executeUpdate(sql);
-        } catch (SQLException e) {
-            System.err.println("Error deactivating banners: " + e.getMessage());
         }
     }
     
@@ -199,46 +226,26 @@ public class EventBannerDAO {
         Optional<EventBanner> bannerOpt = getById(id);
         if (bannerOpt.isPresent()) {
             EventBanner banner = bannerOpt.get();
-            
-            if (!banner.isActive()) {
-                // Activating this banner - deactivate all others first
-                deactivateAll();
-            }
-            
             String sql = "UPDATE event_banners SET is_active = ? WHERE id = ?";
             
-            try (Connection conn = Database.connect();
-                 PreparedStatement pstmt = conn.prepareStatement(sql)) {
-                
-                pstmt.setBoolean(1, !banner.isActive());
-                pstmt.setInt(2, id);
-                pstmt.executeUpdate();
-                return true;
+            try {
+                return Database.write(conn -> {
+                    if (!banner.isActive()) {
+                        // Activating this banner - deactivate all others first
+                        deactivateAll(conn);
+                    }
+                    
+                    try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                        pstmt.setBoolean(1, !banner.isActive());
+                        pstmt.setInt(2, id);
+                        pstmt.executeUpdate();
+                        return true;
+                    }
+                });
             } catch (SQLException e) {
                 System.err.println("Error toggling banner active status: " + e.getMessage());
             }
         }
         return false;
     }
-    
-    /**
-     * Map a ResultSet row to an EventBanner object
-     */
-    private EventBanner mapResultSetToBanner(ResultSet rs) throws SQLException {
-        EventBanner banner = new EventBanner();
-        banner.setId(rs.getInt("id"));
-        banner.setTitle(rs.getString("title"));
-        banner.setMessage(rs.getString("message"));
-        banner.setActive(rs.getBoolean("is_active"));
-        banner.setBackgroundColor(rs.getString("background_color"));
-        banner.setTextColor(rs.getString("text_color"));
-        banner.setLinkUrl(rs.getString("link_url"));
-        banner.setLinkText(rs.getString("link_text"));
-        banner.setImagePath(rs.getString("image_path"));
-        banner.setSubtitle(rs.getString("subtitle"));
-        banner.setEventName(rs.getString("event_name"));
-        banner.setVenue(rs.getString("venue"));
-        banner.setOnsiteRentDate(rs.getString("onsite_rent_date"));
-        return banner;
-    }
 }
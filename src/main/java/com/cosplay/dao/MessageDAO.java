@@ -3,14 +3,39 @@ package com.cosplay.dao;
 import com.cosplay.model.Conversation;
 import com.cosplay.model.Message;
 import com.cosplay.util.Database;
+import com.cosplay.util.DbTime;
 
 import java.sql.*;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 public class MessageDAO {
+
+    static final RowMapper<Message> MESSAGE_MAPPER = RowMapper.builder(Message::new)
+            .integer("message_id", Message::setMessageId)
+            .integer("conversation_id", Message::setConversationId)
+            .integer("sender_id", Message::setSenderId)
+            .string("sender_name", Message::setSenderName)
+            .string("sender_email", Message::setSenderEmail)
+            .string("message", Message::setMessage)
+            .epochMillis("timestamp", Message::setTimestamp)
+            .flag("is_admin_reply", Message::setAdminReply)
+            .string("status", Message::setStatus)
+            .build();
+
+    static final RowMapper<Conversation> CONVERSATION_MAPPER = RowMapper.builder(Conversation::new)
+            .integer("conversation_id", Conversation::setConversationId)
+            .integer("user_id", Conversation::setUserId)
+            .string("user_name", Conversation::setUserName)
+            .string("user_email", Conversation::setUserEmail)
+            .string("last_message", Conversation::setLastMessage)
+            .nullableEpochMillis("last_message_time", Conversation::setLastMessageTime)
+            .integer("unread_count", Conversation::setUnreadCount)
+            .epochMillis("created_at", Conversation::setCreatedAt)
+            .build();
     
     /**
      * Get or create a conversation for a user
@@ -37,21 +62,19 @@ public class MessageDAO {
         String insertSql = "INSERT INTO conversations (user_id, user_name, user_email, created_at, unread_count) " +
                           "VALUES (?, ?, ?, ?, 0)";
         
-        try (Connection conn = Database.connect();
-             PreparedStatement pstmt = conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
-            
-            pstmt.setInt(1, userId);
-            pstmt.setString(2, userName);
-            pstmt.setString(3, userEmail);
-            pstmt.setString(4, LocalDateTime.now().toString());
-            
-            pstmt.executeUpdate();
-            ResultSet keys = pstmt.getGeneratedKeys();
-            
-            if (keys.next()) {
-                return keys.getInt(1);
-            }
-            
+        try {
+            return Database.write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(insertSql, Statement.RETURN_GENERATED_KEYS)) {
+                    pstmt.setInt(1, userId);
+                    pstmt.setString(2, userName);
+                    pstmt.setString(3, userEmail);
+                    pstmt.setLong(4, DbTime.toEpochMillis(LocalDateTime.now()));
+                    
+                    pstmt.executeUpdate();
+                    ResultSet keys = pstmt.getGeneratedKeys();
+                    return keys.next() ? keys.getInt(1) : -1;
+                }
+            });
         } catch (SQLException e) {
             System.err.println("Error creating conversation: " + e.getMessage());
         }
@@ -60,84 +83,45 @@ public class MessageDAO {
     }
     
     /**
-     * Send a message in a conversation
+     * Send a message in a conversation. Blocks until the message is committed;
+     * see {@link MessageWriter}.
      */
     public boolean sendMessage(Message message) {
-        String sql = "INSERT INTO messages (conversation_id, sender_id, sender_name, sender_email, " +
-                     "message, timestamp, is_admin_reply, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
-        
-        try (Connection conn = Database.connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, message.getConversationId());
-            pstmt.setInt(2, message.getSenderId());
-            pstmt.setString(3, message.getSenderName());
-            pstmt.setString(4, message.getSenderEmail());
-            pstmt.setString(5, message.getMessage());
-            pstmt.setString(6, message.getTimestamp().toString());
-            pstmt.setInt(7, message.isAdminReply() ? 1 : 0);
-            pstmt.setString(8, message.getStatus());
-            
-            int affectedRows = pstmt.executeUpdate();
-            
-            if (affectedRows > 0) {
-                // Update conversation last message
-                updateConversationLastMessage(message.getConversationId(), message.getMessage(), 
-                                             message.getTimestamp(), message.isAdminReply());
-                return true;
-            }
-            
-        } catch (SQLException e) {
-            System.err.println("Error sending message: " + e.getMessage());
-        }
-        
-        return false;
+        return MessageWriter.submit(message).join();
     }
     
     /**
-     * Update conversation with last message info
+     * {@link #sendMessage(Message)} without blocking; completes on the FX thread with
+     * true once the message is committed, or false if it could not be saved.
      */
-    private void updateConversationLastMessage(int conversationId, String lastMessage, 
-                                               LocalDateTime timestamp, boolean isAdminReply) {
-        String sql = "UPDATE conversations SET last_message = ?, last_message_time = ?, " +
-                     "unread_count = CASE WHEN ? = 0 THEN unread_count + 1 ELSE unread_count END " +
-                     "WHERE conversation_id = ?";
-        
-        try (Connection conn = Database.connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setString(1, lastMessage.length() > 100 ? lastMessage.substring(0, 100) + "..." : lastMessage);
-            pstmt.setString(2, timestamp.toString());
-            pstmt.setInt(3, isAdminReply ? 1 : 0);
-            pstmt.setInt(4, conversationId);
-            
-            pstmt.executeUpdate();
-            
-        } catch (SQLException e) {
-            System.err.println("Error updating conversation: " + e.getMessage());
-        }
+    public CompletableFuture<Boolean> sendMessageAsync(Message message) {
+        return MessageWriter.submit(message).thenApplyAsync(sent -> sent, DaoExecutor::onFxThread);
     }
     
     /**
      * Get all conversations (for admin)
      */
     public List<Conversation> getAllConversations() {
-        List<Conversation> conversations = new ArrayList<>();
         String sql = "SELECT * FROM conversations ORDER BY last_message_time DESC, created_at DESC";
         
         try (Connection conn = Database.connect();
              Statement stmt = conn.createStatement();
              ResultSet rs = stmt.executeQuery(sql)) {
             
-            while (rs.next()) {
-                conversations.add(mapResultSetToConversation(rs));
-            }
+            return CONVERSATION_MAPPER.list(rs);
             
         } catch (SQLException e) {
             System.err.println("Error fetching conversations: " + e.getMessage());
         }
         
-        return conversations;
+        return new ArrayList<>();
+    }
+    
+    /**
+     * {@link #getAllConversations()} off the FX thread; completes on the FX thread.
+     */
+    public CompletableFuture<List<Conversation>> getAllConversationsAsync() {
+        return DaoExecutor.supply(this::getAllConversations);
     }
     
     /**
@@ -150,10 +134,8 @@ public class MessageDAO {
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, userId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            if (rs.next()) {
-                return Optional.of(mapResultSetToConversation(rs));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return CONVERSATION_MAPPER.first(rs);
             }
             
         } catch (SQLException e) {
@@ -167,24 +149,28 @@ public class MessageDAO {
      * Get messages in a conversation
      */
     public List<Message> getMessagesByConversation(int conversationId) {
-        List<Message> messages = new ArrayList<>();
         String sql = "SELECT * FROM messages WHERE conversation_id = ? ORDER BY timestamp ASC";
         
         try (Connection conn = Database.connect();
              PreparedStatement pstmt = conn.prepareStatement(sql)) {
             
             pstmt.setInt(1, conversationId);
-            ResultSet rs = pstmt.executeQuery();
-            
-            while (rs.next()) {
-                messages.add(mapResultSetToMessage(rs));
+            try (ResultSet rs = pstmt.executeQuery()) {
+                return MESSAGE_MAPPER.list(rs);
             }
             
         } catch (SQLException e) {
             System.err.println("Error fetching messages: " + e.getMessage());
         }
         
-        return messages;
+        return new ArrayList<>();
+    }
+    
+    /**
+     * {@link #getMessagesByConversation(int)} off the FX thread; completes on the FX thread.
+     */
+    public CompletableFuture<List<Message>> getMessagesByConversationAsync(int conversationId) {
+        return DaoExecutor.supply(() -> getMessagesByConversation(conversationId));
     }
     
     /**
@@ -193,13 +179,14 @@ public class MessageDAO {
     public boolean markConversationAsRead(int conversationId) {
         String sql = "UPDATE conversations SET unread_count = 0 WHERE conversation_id = ?";
         
-        try (Connection conn = Database.connect();
-             PreparedStatement pstmt = conn.prepareStatement(sql)) {
-            
-            pstmt.setInt(1, conversationId);
-            int affectedRows = pstmt.executeUpdate();
-            return affectedRows > 0;
-            
+        try {
+            return Database.write(conn -> {
+                try (PreparedStatement pstmt = conn.prepareStatement(sql)) {
+                    pstmt.setInt(1, conversationId);
+                    int affectedRows = pstmt.executeUpdate();
+                    return affectedRows > 0;
+                }
+            });
         } catch (SQLException e) {
             System.err.println("Error marking conversation as read: " + e.getMessage());
             return false;
@@ -231,62 +218,26 @@ public class MessageDAO {
      * Delete a conversation and all its messages
      */
     public boolean deleteConversation(int conversationId) {
-        try (Connection conn = Database.connect()) {
-            // Delete messages first
-            String deleteMessages = "DELETE FROM messages WHERE conversation_id = ?";
-            PreparedStatement pstmt1 = conn.prepareStatement(deleteMessages);
-            pstmt1.setInt(1, conversationId);
-            pstmt1.executeUpdate();
-            
-            // Delete conversation
-            String deleteConv = "DELETE FROM conversations WHERE conversation_id = ?";
-            PreparedStatement pstmt2 = conn.prepareStatement(deleteConv);
-            pstmt2.setInt(1, conversationId);
-            int affectedRows = pstmt2.executeUpdate();
-            
-            return affectedRows > 0;
-            
+        try {
+            return Database.write(conn -> {
+                // Delete messages first
+                String deleteMessages = "DELETE FROM messages WHERE conversation_id = ?";
+                try (PreparedStatement pstmt1 = conn.prepareStatement(deleteMessages)) {
+                    pstmt1.setInt(1, conversationId);
+                    pstmt1.executeUpdate();
+                }
+                
+                // Delete conversation
+                String deleteConv = "DELETE FROM conversations WHERE conversation_id = ?";
+                try (PreparedStatement pstmt2 = conn.prepareStatement(deleteConv)) {
+                    pstmt2.setInt(1, conversationId);
+                    int affectedRows = pstmt2.executeUpdate();
+                    return affectedRows > 0;
+                }
+            });
         } catch (SQLException e) {
             System.err.println("Error deleting conversation: " + e.getMessage());
             return false;
         }
     }
-    
-    /**
-     * Map ResultSet to Message object
-     */
-    private Message mapResultSetToMessage(ResultSet rs) throws SQLException {
-        Message message = new Message();
-        message.setMessageId(rs.getInt("message_id"));
-        message.setConversationId(rs.getInt("conversation_id"));
-        message.setSenderId(rs.getInt("sender_id"));
-        message.setSenderName(rs.getString("sender_name"));
-        message.setSenderEmail(rs.getString("sender_email"));
-        message.setMessage(rs.getString("message"));
-        message.setTimestamp(LocalDateTime.parse(rs.getString("timestamp")));
-        message.setAdminReply(rs.getInt("is_admin_reply") == 1);
-        message.setStatus(rs.getString("status"));
-        return message;
-    }
-    
-    /**
-     * Map ResultSet to Conversation object
-     */
-    private Conversation mapResultSetToConversation(ResultSet rs) throws SQLException {
-        Conversation conversation = new Conversation();
-        conversation.setConversationId(rs.getInt("conversation_id"));
-        conversation.setUserId(rs.getInt("user_id"));
-        conversation.setUserName(rs.getString("user_name"));
-        conversation.setUserEmail(rs.getString("user_email"));
-        conversation.setLastMessage(rs.getString("last_message"));
-        
-        String lastMsgTime = rs.getString("last_message_time");
-        if (lastMsgTime != null && !lastMsgTime.isEmpty()) {
-            conversation.setLastMessageTime(LocalDateTime.parse(lastMsgTime));
-        }
-        
-        conversation.setUnreadCount(rs.getInt("unread_count"));
-        conversation.setCreatedAt(LocalDateTime.parse(rs.getString("created_at")));
-        return conversation;
-    }
 }
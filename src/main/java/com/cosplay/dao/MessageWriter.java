@@ -0,0 +1,146 @@
+package com.cosplay.dao;
+
+import com.cosplay.model.Message;
+import com.cosplay.util.Database;
+import com.cosplay.util.DbTime;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Group commit for chat messages.
+ *
+ * Sends are queued and written by a single background thread. Each commit takes every
+ * message that queued up while the previous commit was running, so a burst of sends
+ * shares one transaction (and one WAL sync) instead of paying for one each. A lone
+ * message is written straight away; nothing waits on a timer.
+ *
+ * Each message's INSERT and its conversation's last-message UPDATE are in the same transaction.
+ * If a batch is rejected, its messages are retried one per transaction so one bad message
+ * doesn't fail the others; if the database is still locked after the write retries, the
+ * batch fails at once instead.
+ */
+final class MessageWriter {
+
+    private static final int MAX_BATCH = 64;
+
+    private static final String INSERT_SQL = "INSERT INTO messages (conversation_id, sender_id, sender_name, sender_email, " +
+            "message, timestamp, is_admin_reply, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+    private static final String UPDATE_SQL = "UPDATE conversations SET last_message = ?, last_message_time = ?, " +
+            "unread_count = CASE WHEN ? = 0 THEN unread_count + 1 ELSE unread_count END " +
+            "WHERE conversation_id = ?";
+
+    private record Pending(Message message, CompletableFuture<Boolean> done) {}
+
+    private static final BlockingQueue<Pending> QUEUE = new LinkedBlockingQueue<>();
+    private static final AtomicLong commits = new AtomicLong();
+    private static final AtomicLong messages = new AtomicLong();
+
+    static {
+        Thread writer = new Thread(MessageWriter::run, "cosplay-message-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    private MessageWriter() {}
+
+    /**
+     * Queue a message. The future completes with true once it is committed, or false if it
+     * could not be written; it is completed on the writer thread.
+     */
+    static CompletableFuture<Boolean> submit(Message message) {
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+        QUEUE.add(new Pending(message, done));
+        return done;
+    }
+
+    /** Number of transactions used to write messages. */
+    static long getCommitCount() {
+        return commits.get();
+    }
+
+    /** Number of messages written. */
+    static long getMessageCount() {
+        return messages.get();
+    }
+
+    private static void run() {
+        List<Pending> batch = new ArrayList<>(MAX_BATCH);
+        while (true) {
+            try {
+                batch.add(QUEUE.take());
+            } catch (InterruptedException e) {
+                return;
+            }
+            QUEUE.drainTo(batch, MAX_BATCH - 1);
+            commit(batch);
+            batch.clear();
+        }
+    }
+
+    // Returns false if the database stayed busy, so the caller need not try again right away
+    private static boolean commit(List<Pending> batch) {
+        try {
+            Database.write(conn -> {
+                write(conn, batch);
+                return null;
+            });
+            commits.incrementAndGet();
+            messages.addAndGet(batch.size());
+            batch.forEach(p -> p.done().complete(true));
+            return true;
+        } catch (SQLException | RuntimeException e) {
+            boolean busy = e instanceof SQLException sql && Database.isBusy(sql);
+            if (busy || batch.size() == 1) {
+                // Database.write already waited out its retries; each message alone would only wait again
+                System.err.println("Error sending " + batch.size() + " message(s): " + e.getMessage());
+                batch.forEach(p -> p.done().complete(false));
+                return !busy;
+            }
+            // One message the database rejects (e.g. a null sender name) shouldn't fail the others
+            for (int i = 0; i < batch.size(); i++) {
+                if (!commit(List.of(batch.get(i)))) {
+                    batch.subList(i + 1, batch.size()).forEach(p -> p.done().complete(false));
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    private static void write(Connection conn, List<Pending> batch) throws SQLException {
+        try (PreparedStatement insert = conn.prepareStatement(INSERT_SQL);
+             PreparedStatement update = conn.prepareStatement(UPDATE_SQL)) {
+            for (Pending p : batch) {
+                Message m = p.message();
+                long timestamp = DbTime.toEpochMillis(m.getTimestamp());
+
+                insert.setInt(1, m.getConversationId());
+                insert.setInt(2, m.getSenderId());
+                insert.setString(3, m.getSenderName());
+                insert.setString(4, m.getSenderEmail());
+                insert.setString(5, m.getMessage());
+                insert.setLong(6, timestamp);
+                insert.setInt(7, m.isAdminReply() ? 1 : 0);
+                insert.setString(8, m.getStatus());
+                insert.addBatch();
+
+                String text = m.getMessage();
+                update.setString(1, text.length() > 100 ? text.substring(0, 100) + "..." : text);
+                update.setLong(2, timestamp);
+                update.setInt(3, m.isAdminReply() ? 1 : 0);
+                update.setInt(4, m.getConversationId());
+                update.addBatch();
+            }
+            insert.executeBatch();
+            update.executeBatch();
+        }
+    }
+}
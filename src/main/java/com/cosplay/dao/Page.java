@@ -0,0 +1,40 @@
+package com.cosplay.dao;
+
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+
+/**
+ * One page of a keyset-paginated query.
+ *
+ * Pages are addressed by the sort key and id of the last row seen rather than by an
+ * OFFSET, so fetching page 500 costs the same index seek as fetching page 1 and rows
+ * inserted meanwhile never shift later pages.
+ *
+ * @param items the rows on this page, in query order
+ * @param next  where the following page starts, or {@code null} if this is the last page
+ */
+public record Page<T>(List<T> items, Cursor next) {
+
+    /**
+     * Position just after a row: its sort key (null when sorting by id alone) and its id.
+     */
+    public record Cursor(Object key, int id) { }
+
+    public boolean hasNext() {
+        return next != null;
+    }
+
+    /**
+     * Build a page from {@code limit + 1} fetched rows: the extra row only signals that
+     * there is more, and the cursor points after the last row actually returned.
+     */
+    static <T> Page<T> of(List<T> rows, int limit, Function<T, Object> key, ToIntFunction<T> id) {
+        if (rows.size() <= limit) {
+            return new Page<>(rows, null);
+        }
+        List<T> items = rows.subList(0, limit);
+        T last = items.get(limit - 1);
+        return new Page<>(items, new Cursor(key.apply(last), id.applyAsInt(last)));
+    }
+}
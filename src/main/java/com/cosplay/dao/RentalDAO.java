@@ -2,31 +2,67 @@ package com.cosplay.dao;
 
 import com.cosplay.model.Rental;
 import com.cosplay.util.Database;
+import com.cosplay.util.DbTime;
 
 import java.sql.*;
 import java.time.LocalDate;
+import java.time.YearMonth;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
 
 public class RentalDAO {
 
+    // Every column is NOT NULL or read as a string, so the row is read in one method with
+    // plain getters; per-column bindings cost more than they save on this shape
+    static final RowMapper<Rental> MAPPER = RowMapper.of((rs, c) -> {
+        Rental r = new Rental();
+        r.setId(rs.getInt(c[0]));
+        r.setCosplayId(rs.getInt(c[1]));
+        r.setCustomerName(rs.getString(c[2]));
+        r.setContactNumber(rs.getString(c[3]));
+        r.setAddress(rs.getString(c[4]));
+        r.setFacebookLink(rs.getString(c[5]));
+        r.setStartDate(DbTime.fromEpochDay(rs.getLong(c[6])));
+        r.setEndDate(DbTime.fromEpochDay(rs.getLong(c[7])));
+        r.setRentDays(rs.getInt(c[8]));
+        r.setCustomerAddOns(rs.getString(c[9]));
+        r.setPaymentMethod(rs.getString(c[10]));
+        r.setProofOfPayment(rs.getString(c[11]));
+        r.setSelfiePhoto(rs.getString(c[12]));
+        r.setIdPhoto(rs.getString(c[13]));
+        r.setStatus(rs.getString(c[14]));
+        return r;
+    }, "rental_id", "cosplay_id", "customer_name", "contact_number", "address", "facebook_link",
+       "start_date", "end_date", "rent_days", "customer_addons", "payment_method", "proof_of_payment",
+       "selfie_photo", "id_photo", "status");
+
+    // createRental calls turned away because the dates were already taken
+    private static final AtomicLong bookingConflicts = new AtomicLong();
+
     // Check availability using the given connection to keep checks + insert in single transaction if needed.
     private boolean isAvailable(Connection conn, int CosplayId, LocalDate start, LocalDate end) throws SQLException {
-        // Overlap if NOT (existing.end < new.start OR existing.start > new.end)
+        // Overlap if existing.end >= new.start AND existing.start <= new.end
+        // (written as two plain comparisons so the end_date range can use idx_rentals_cosplay_status_end)
         String sql = "SELECT 1 FROM rentals WHERE cosplay_id = ? AND status IN ('Pending','Confirmed','Rented') " +
-                     "AND NOT (end_date < ? OR start_date > ?) LIMIT 1";
+                     "AND end_date >= ? AND start_date <= ? LIMIT 1";
         try (PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, CosplayId);
-            ps.setString(2, start.toString());
-            ps.setString(3, end.toString());
+            ps.setLong(2, DbTime.toEpochDay(start));
+            ps.setLong(3, DbTime.toEpochDay(end));
             try (ResultSet rs = ps.executeQuery()) {
                 return !rs.next(); // if result exists -> overlap -> not available
             }
         }
     }
 
-    // Public wrapper
+    // Public wrapper; answered from AvailabilityIndex, or the database if the index can't load
     public boolean isAvailable(int CosplayId, LocalDate start, LocalDate end) {
+        if (AvailabilityIndex.ensureLoaded(this::loadActiveBookings)) {
+            return AvailabilityIndex.isFree(CosplayId, start.toEpochDay(), end.toEpochDay());
+        }
         try (Connection conn = Database.connect()) {
             return isAvailable(conn, CosplayId, start, end);
         } catch (SQLException e) {
@@ -35,86 +71,213 @@ public class RentalDAO {
         }
     }
 
-    // Create a rental safely: check availability inside a transaction and insert
+    /**
+     * Days of {@code month} on which the cosplay is held by an active rental: bit {@code d - 1}
+     * is set when day {@code d} is booked. Answered from AvailabilityIndex.
+     */
+    public long getBookedDays(int cosplayId, YearMonth month) {
+        long firstDay = month.atDay(1).toEpochDay();
+        int length = month.lengthOfMonth();
+        if (AvailabilityIndex.ensureLoaded(this::loadActiveBookings)) {
+            return AvailabilityIndex.bookedMask(cosplayId, firstDay, length);
+        }
+        long mask = 0;
+        for (Rental r : getRentalsByCosplayId(cosplayId)) {
+            long from = Math.max(r.getStartDate().toEpochDay(), firstDay);
+            long to = Math.min(r.getEndDate().toEpochDay(), firstDay + length - 1);
+            for (long day = from; day <= to; day++) {
+                mask |= 1L << (day - firstDay);
+            }
+        }
+        return mask;
+    }
+
+    // Index loader: every active rental as (rental_id, cosplay_id, start, end), read from idx_rentals_active
+    private long[] loadActiveBookings() {
+        String sql = "SELECT rental_id, cosplay_id, start_date, end_date FROM rentals " +
+                     "WHERE status IN ('Pending','Confirmed','Rented') ORDER BY cosplay_id";
+        long[] rows = new long[256];
+        int n = 0;
+        try (Connection conn = Database.connect();
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery(sql)) {
+            while (rs.next()) {
+                if (n + 4 > rows.length) rows = Arrays.copyOf(rows, rows.length * 2);
+                rows[n++] = rs.getInt(1);
+                rows[n++] = rs.getInt(2);
+                rows[n++] = rs.getLong(3);
+                rows[n++] = rs.getLong(4);
+            }
+            return Arrays.copyOf(rows, n);
+        } catch (SQLException e) {
+            e.printStackTrace();
+        }
+        return null;
+    }
+
+    // Create a rental safely: check availability and insert in one writer transaction
     public boolean createRental(Rental r) {
         String insert = "INSERT INTO rentals(cosplay_id, customer_name, contact_number, address, facebook_link, start_date, end_date, rent_days, customer_addons, payment_method, proof_of_payment, selfie_photo, id_photo, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
-        try (Connection conn = Database.connect()) {
-            conn.setAutoCommit(false);
-            // check availability with the same connection
-            if (!isAvailable(conn, r.getCosplayId(), r.getStartDate(), r.getEndDate())) {
-                conn.rollback();
-                return false;
-            }
+        try {
+            boolean created = Database.write(conn -> {
+                // check availability with the same connection; the write lock is already held
+                if (!isAvailable(conn, r.getCosplayId(), r.getStartDate(), r.getEndDate())) {
+                    bookingConflicts.incrementAndGet();
+                    return false;
+                }
 
-            try (PreparedStatement ps = conn.prepareStatement(insert, Statement.RETURN_GENERATED_KEYS)) {
-                ps.setInt(1, r.getCosplayId());
-                ps.setString(2, r.getCustomerName());
-                ps.setString(3, r.getContactNumber());
-                ps.setString(4, r.getAddress());
-                ps.setString(5, r.getFacebookLink());
-                ps.setString(6, r.getStartDate().toString());
-                ps.setString(7, r.getEndDate().toString());
-                ps.setInt(8, r.getRentDays());
-                ps.setString(9, r.getCustomerAddOns());
-                ps.setString(10, r.getPaymentMethod());
-                ps.setString(11, r.getProofOfPayment());
-                ps.setString(12, r.getSelfiePhoto());
-                ps.setString(13, r.getIdPhoto());
-                ps.setString(14, r.getStatus() == null ? "Pending" : r.getStatus());
-                ps.executeUpdate();
-                try (ResultSet rs = ps.getGeneratedKeys()) {
-                    if (rs.next()) r.setId(rs.getInt(1));
+                try (PreparedStatement ps = conn.prepareStatement(insert, Statement.RETURN_GENERATED_KEYS)) {
+                    ps.setInt(1, r.getCosplayId());
+                    ps.setString(2, r.getCustomerName());
+                    ps.setString(3, r.getContactNumber());
+                    ps.setString(4, r.getAddress());
+                    ps.setString(5, r.getFacebookLink());
+                    ps.setLong(6, DbTime.toEpochDay(r.getStartDate()));
+                    ps.setLong(7, DbTime.toEpochDay(r.getEndDate()));
+                    ps.setInt(8, r.getRentDays());
+                    ps.setString(9, r.getCustomerAddOns());
+                    ps.setString(10, r.getPaymentMethod());
+                    ps.setString(11, r.getProofOfPayment());
+                    ps.setString(12, r.getSelfiePhoto());
+                    ps.setString(13, r.getIdPhoto());
+                    ps.setString(14, r.getStatus() == null ? "Pending" : r.getStatus());
+                    ps.executeUpdate();
+                    try (ResultSet rs = ps.getGeneratedKeys()) {
+                        if (rs.next()) r.setId(rs.getInt(1));
+                    }
+                    return true;
                 }
-                conn.commit();
-                return true;
-            } catch (SQLException ex) {
-                conn.rollback();
-                throw ex;
-            } finally {
-                conn.setAutoCommit(true);
+            });
+            if (created && AvailabilityIndex.isActive(r.getStatus() == null ? "Pending" : r.getStatus())) {
+                AvailabilityIndex.booked(r.getId(), r.getCosplayId(), r.getStartDate().toEpochDay(), r.getEndDate().toEpochDay());
             }
+            return created;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
         }
     }
 
+    /** Drop the in-memory booked days, e.g. after the database was restored from a backup. */
+    public void invalidateCache() {
+        AvailabilityIndex.invalidate();
+    }
+
+    /** Bookings turned away because another rental already held the dates. */
+    public static long getBookingConflictCount() {
+        return bookingConflicts.get();
+    }
+
     public List<Rental> getAllRentals() {
-        List<Rental> list = new ArrayList<>();
         String sql = "SELECT * FROM rentals ORDER BY start_date";
         try (Connection conn = Database.connect();
              Statement st = conn.createStatement();
              ResultSet rs = st.executeQuery(sql)) {
-            while (rs.next()) {
-                Rental r = new Rental();
-                r.setId(rs.getInt("rental_id"));
-                r.setCosplayId(rs.getInt("cosplay_id"));
-                r.setCustomerName(rs.getString("customer_name"));
-                r.setContactNumber(rs.getString("contact_number"));
-                r.setAddress(rs.getString("address"));
-                r.setFacebookLink(rs.getString("facebook_link"));
-                r.setStartDate(LocalDate.parse(rs.getString("start_date")));
-                r.setEndDate(LocalDate.parse(rs.getString("end_date")));
-                r.setRentDays(rs.getInt("rent_days"));
-                r.setCustomerAddOns(rs.getString("customer_addons"));
-                r.setPaymentMethod(rs.getString("payment_method"));
-                r.setProofOfPayment(rs.getString("proof_of_payment"));
-                r.setSelfiePhoto(rs.getString("selfie_photo"));
-                r.setIdPhoto(rs.getString("id_photo"));
-                r.setStatus(rs.getString("status"));
-                list.add(r);
+            return MAPPER.list(rs);
+        } catch (SQLException e) { e.printStackTrace(); }
+        return new ArrayList<>();
+    }
+
+    /** {@link #getAllRentals()} off the FX thread; completes on the FX thread. */
+    public CompletableFuture<List<Rental>> getAllRentalsAsync() {
+        return DaoExecutor.supply(this::getAllRentals);
+    }
+
+    /**
+     * One page of rentals ordered by start date then id, starting after {@code after}
+     * (null for the first page). {@code search}, if not blank, matches customer name,
+     * contact number or status anywhere, case-insensitively.
+     * Each rental comes with its cosplay's name and series from the same query, so a
+     * list of orders needs no lookup per row.
+     * Walks idx_rentals_start_date (which carries rental_id as the rowid) from the cursor.
+     */
+    public Page<Rental> getRentalsPage(String search, Page.Cursor after, int limit) {
+        StringBuilder sql = new StringBuilder(
+                "SELECT r.*, c.name AS cosplay_name, c.series_name AS cosplay_series_name " +
+                "FROM rentals r LEFT JOIN cosplays c ON c.cosplay_id = r.cosplay_id");
+        List<String> conditions = new ArrayList<>();
+        if (after != null) {
+            conditions.add("r.start_date >= ? AND (r.start_date > ? OR r.rental_id > ?)");
+        }
+        boolean searching = search != null && !search.isBlank();
+        if (searching) {
+            conditions.add("(r.customer_name LIKE ? OR r.contact_number LIKE ? OR r.status LIKE ?)");
+        }
+        if (!conditions.isEmpty()) {
+            sql.append(" WHERE ").append(String.join(" AND ", conditions));
+        }
+        sql.append(" ORDER BY r.start_date, r.rental_id LIMIT ?");
+        try (Connection conn = Database.connect();
+             PreparedStatement ps = conn.prepareStatement(sql.toString())) {
+            int i = 1;
+            if (after != null) {
+                long startDay = (Long) after.key();
+                ps.setLong(i++, startDay);
+                ps.setLong(i++, startDay);
+                ps.setInt(i++, after.id());
+            }
+            if (searching) {
+                String pattern = "%" + search.trim() + "%";
+                ps.setString(i++, pattern);
+                ps.setString(i++, pattern);
+                ps.setString(i++, pattern);
+            }
+            ps.setInt(i, limit + 1);
+            try (ResultSet rs = ps.executeQuery()) {
+                // Column positions are looked up once, not per row
+                RowMapper.Reader<Rental> reader = MAPPER.reader(rs);
+                int nameColumn = rs.findColumn("cosplay_name");
+                int seriesColumn = rs.findColumn("cosplay_series_name");
+                List<Rental> rows = new ArrayList<>();
+                while (rs.next()) {
+                    Rental r = reader.read();
+                    r.setCosplayName(rs.getString(nameColumn));
+                    r.setCosplaySeriesName(rs.getString(seriesColumn));
+                    rows.add(r);
+                }
+                return Page.of(rows, limit, r -> DbTime.toEpochDay(r.getStartDate()), Rental::getId);
             }
         } catch (SQLException e) { e.printStackTrace(); }
-        return list;
+        return new Page<>(new ArrayList<>(), null);
     }
-    
+
+    /** {@link #getRentalsPage(String, Page.Cursor, int)} off the FX thread; completes on the FX thread. */
+    public CompletableFuture<Page<Rental>> getRentalsPageAsync(String search, Page.Cursor after, int limit) {
+        return DaoExecutor.supply(() -> getRentalsPage(search, after, limit));
+    }
+
     public boolean updateRentalStatus(int rentalId, String newStatus) {
         String sql = "UPDATE rentals SET status = ? WHERE rental_id = ?";
-        try (Connection conn = Database.connect();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            ps.setString(1, newStatus);
-            ps.setInt(2, rentalId);
-            return ps.executeUpdate() > 0;
+        try {
+            // The rental as it was, read in the same transaction; null if there is none
+            Rental updated = Database.write(conn -> {
+                Rental existing;
+                try (PreparedStatement ps = conn.prepareStatement("SELECT * FROM rentals WHERE rental_id = ?")) {
+                    ps.setInt(1, rentalId);
+                    try (ResultSet rs = ps.executeQuery()) {
+                        existing = MAPPER.first(rs).orElse(null);
+                    }
+                }
+                if (existing == null) {
+                    return null;
+                }
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ps.setString(1, newStatus);
+                    ps.setInt(2, rentalId);
+                    ps.executeUpdate();
+                }
+                return existing;
+            });
+            if (updated == null) {
+                return false;
+            }
+            if (AvailabilityIndex.isActive(newStatus)) {
+                AvailabilityIndex.booked(rentalId, updated.getCosplayId(),
+                        updated.getStartDate().toEpochDay(), updated.getEndDate().toEpochDay());
+            } else {
+                AvailabilityIndex.released(rentalId, updated.getCosplayId());
+            }
+            return true;
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
@@ -122,35 +285,19 @@ public class RentalDAO {
     }
     
     public List<Rental> getRentalsByCosplayId(int cosplayId) {
-        List<Rental> list = new ArrayList<>();
         String sql = "SELECT * FROM rentals WHERE cosplay_id = ? AND status IN ('Pending','Confirmed','Rented') ORDER BY start_date";
         try (Connection conn = Database.connect();
              PreparedStatement ps = conn.prepareStatement(sql)) {
             ps.setInt(1, cosplayId);
             try (ResultSet rs = ps.executeQuery()) {
-                while (rs.next()) {
-                    Rental r = new Rental();
-                    r.setId(rs.getInt("rental_id"));
-                    r.setCosplayId(rs.getInt("cosplay_id"));
-                    r.setCustomerName(rs.getString("customer_name"));
-                    r.setContactNumber(rs.getString("contact_number"));
-                    r.setAddress(rs.getString("address"));
-                    r.setFacebookLink(rs.getString("facebook_link"));
-                    r.setStartDate(LocalDate.parse(rs.getString("start_date")));
-                    r.setEndDate(LocalDate.parse(rs.getString("end_date")));
-                    r.setRentDays(rs.getInt("rent_days"));
-                    r.setCustomerAddOns(rs.getString("customer_addons"));
-                    r.setPaymentMethod(rs.getString("payment_method"));
-                    r.setProofOfPayment(rs.getString("proof_of_payment"));
-                    r.setSelfiePhoto(rs.getString("selfie_photo"));
-                    r.setIdPhoto(rs.getString("id_photo"));
-                    r.setStatus(rs.getString("status"));
-                    list.add(r);
-                }
+                return MAPPER.list(rs);
             }
         } catch (SQLException e) { e.printStackTrace(); }
-        return list;
+        return new ArrayList<>();
     }
-}
-
 
+    /** {@link #getRentalsByCosplayId(int)} off the FX thread; completes on the FX thread. */
+    public CompletableFuture<List<Rental>> getRentalsByCosplayIdAsync(int cosplayId) {
+        return DaoExecutor.supply(() -> getRentalsByCosplayId(cosplayId));
+    }
+}
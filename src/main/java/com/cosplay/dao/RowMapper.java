@@ -0,0 +1,211 @@
+package com.cosplay.dao;
+
+import com.cosplay.util.DbTime;
+
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.ObjIntConsumer;
+import java.util.function.Supplier;
+
+/**
+ * Maps result set rows to model objects using column positions instead of names.
+ * The positions are worked out once per result-set shape (the list of column labels)
+ * and cached, so each row is read with plain index lookups. Nullable numbers are
+ * read with one getter plus wasNull() instead of getObject() followed by a second read.
+ * wasNull() is itself a native call in the SQLite driver, so only the nullable
+ * variants use it; declare NOT NULL columns with the plain ones.
+ *
+ * Build one per model with {@link #builder(Supplier)} and keep it in a static field.
+ * Each builder column is read through its own small lambda. For a shape with no nullable
+ * numbers there is no double read to save, and those lambdas cost about what they save;
+ * {@link #of(RowReader, String...)} reads the whole row in one method with plain getters.
+ */
+public final class RowMapper<T> {
+
+    @FunctionalInterface
+    private interface Binding<T> {
+        void read(T target, ResultSet rs, int index) throws SQLException;
+    }
+
+    /**
+     * Reads one row given the positions of the mapper's columns, in the order they were
+     * declared: {@code positions[0]} is the first column's index, and so on.
+     */
+    @FunctionalInterface
+    public interface RowReader<T> {
+        T read(ResultSet rs, int[] positions) throws SQLException;
+    }
+
+    private final String[] columns;
+    private final RowReader<T> rowReader;
+    private final Map<String, int[]> indexesByShape = new ConcurrentHashMap<>();
+
+    private RowMapper(String[] columns, RowReader<T> rowReader) {
+        this.columns = columns;
+        this.rowReader = rowReader;
+    }
+
+    public static <T> Builder<T> builder(Supplier<T> factory) {
+        return new Builder<>(factory);
+    }
+
+    /** A mapper that reads {@code columns} with {@code reader}, written out by hand. */
+    public static <T> RowMapper<T> of(RowReader<T> reader, String... columns) {
+        return new RowMapper<>(columns.clone(), reader);
+    }
+
+    /** Map every remaining row. */
+    public List<T> list(ResultSet rs) throws SQLException {
+        int[] indexes = indexes(rs);
+        List<T> list = new ArrayList<>();
+        while (rs.next()) {
+            list.add(rowReader.read(rs, indexes));
+        }
+        return list;
+    }
+
+    /** Map the next row, if there is one. */
+    public Optional<T> first(ResultSet rs) throws SQLException {
+        if (!rs.next()) {
+            return Optional.empty();
+        }
+        return Optional.of(rowReader.read(rs, indexes(rs)));
+    }
+
+    /** Map the row the cursor is currently on. For a loop over rows, use {@link #reader(ResultSet)}. */
+    public T map(ResultSet rs) throws SQLException {
+        return rowReader.read(rs, indexes(rs));
+    }
+
+    /**
+     * A reader for this result set's rows, with the column positions resolved once.
+     * Use it in loops that read extra columns per row, where {@link #list} doesn't fit.
+     */
+    public Reader<T> reader(ResultSet rs) throws SQLException {
+        int[] indexes = indexes(rs);
+        return () -> rowReader.read(rs, indexes);
+    }
+
+    /** Maps the row its result set's cursor is on. */
+    @FunctionalInterface
+    public interface Reader<T> {
+        T read() throws SQLException;
+    }
+
+    private int[] indexes(ResultSet rs) throws SQLException {
+        ResultSetMetaData md = rs.getMetaData();
+        int count = md.getColumnCount();
+        StringBuilder shape = new StringBuilder(count * 12);
+        for (int i = 1; i <= count; i++) {
+            shape.append(md.getColumnLabel(i)).append(',');
+        }
+        int[] cached = indexesByShape.get(shape.toString());
+        if (cached != null) {
+            return cached;
+        }
+
+        int[] indexes = new int[columns.length];
+        for (int c = 0; c < columns.length; c++) {
+            indexes[c] = -1;
+            for (int i = 1; i <= count; i++) {
+                if (columns[c].equalsIgnoreCase(md.getColumnLabel(i))) {
+                    indexes[c] = i;
+                    break;
+                }
+            }
+            if (indexes[c] == -1) {
+                throw new SQLException("Column '" + columns[c] + "' is missing from the result set");
+            }
+        }
+        indexesByShape.put(shape.toString(), indexes);
+        return indexes;
+    }
+
+    /**
+     * Declares which column goes into which setter.
+     */
+    public static final class Builder<T> {
+        private final Supplier<T> factory;
+        private final List<String> columns = new ArrayList<>();
+        private final List<Binding<T>> bindings = new ArrayList<>();
+
+        private Builder(Supplier<T> factory) {
+            this.factory = factory;
+        }
+
+        private Builder<T> add(String column, Binding<T> binding) {
+            columns.add(column);
+            bindings.add(binding);
+            return this;
+        }
+
+        public Builder<T> integer(String column, ObjIntConsumer<T> setter) {
+            return add(column, (t, rs, i) -> setter.accept(t, rs.getInt(i)));
+        }
+
+        /** INTEGER column that may be NULL; the setter is skipped for NULL. */
+        public Builder<T> nullableInteger(String column, BiConsumer<T, Integer> setter) {
+            return add(column, (t, rs, i) -> {
+                int v = rs.getInt(i);
+                if (!rs.wasNull()) setter.accept(t, v);
+            });
+        }
+
+        /** REAL column that may be NULL; NULL is passed through as null. */
+        public Builder<T> nullableDouble(String column, BiConsumer<T, Double> setter) {
+            return add(column, (t, rs, i) -> {
+                double v = rs.getDouble(i);
+                setter.accept(t, rs.wasNull() ? null : v);
+            });
+        }
+
+        public Builder<T> string(String column, BiConsumer<T, String> setter) {
+            return add(column, (t, rs, i) -> setter.accept(t, rs.getString(i)));
+        }
+
+        /** 0/1 INTEGER column. */
+        public Builder<T> flag(String column, BiConsumer<T, Boolean> setter) {
+            return add(column, (t, rs, i) -> setter.accept(t, rs.getInt(i) != 0));
+        }
+
+        /** NOT NULL epoch-day INTEGER column (see {@link DbTime}). */
+        public Builder<T> epochDay(String column, BiConsumer<T, LocalDate> setter) {
+            return add(column, (t, rs, i) -> setter.accept(t, DbTime.fromEpochDay(rs.getLong(i))));
+        }
+
+        /** NOT NULL epoch-millis INTEGER column (see {@link DbTime}). */
+        public Builder<T> epochMillis(String column, BiConsumer<T, LocalDateTime> setter) {
+            return add(column, (t, rs, i) -> setter.accept(t, DbTime.fromEpochMillis(rs.getLong(i))));
+        }
+
+        /** Epoch-millis INTEGER column that may be NULL; the setter is skipped for NULL. */
+        public Builder<T> nullableEpochMillis(String column, BiConsumer<T, LocalDateTime> setter) {
+            return add(column, (t, rs, i) -> {
+                long v = rs.getLong(i);
+                if (!rs.wasNull()) setter.accept(t, DbTime.fromEpochMillis(v));
+            });
+        }
+
+        public RowMapper<T> build() {
+            Supplier<T> factory = this.factory;
+            @SuppressWarnings({"unchecked", "rawtypes"})
+            Binding<T>[] bindings = this.bindings.toArray(new Binding[0]);
+            return new RowMapper<>(columns.toArray(new String[0]), (rs, indexes) -> {
+                T target = factory.get();
+                for (int i = 0; i < bindings.length; i++) {
+                    bindings[i].read(target, rs, indexes[i]);
+                }
+                return target;
+            });
+        }
+    }
+}
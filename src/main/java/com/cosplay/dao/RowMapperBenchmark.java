@@ -0,0 +1,188 @@
+package com.cosplay.dao;
+
+import com.cosplay.model.Cosplay;
+import com.cosplay.model.Rental;
+import com.cosplay.util.Database;
+
+import java.io.File;
+import java.lang.management.ManagementFactory;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Microbenchmark: name-based row mapping (how the DAOs used to read rows) against
+ * the cached-index {@link RowMapper}, on the catalog and orders list queries.
+ * Reports CPU time and heap allocated per row on the benchmark thread, and the change
+ * RowMapper makes to each (negative is cheaper).
+ *
+ * Usage: mvn compile exec:java -Dexec.mainClass="com.cosplay.dao.RowMapperBenchmark"
+ */
+public class RowMapperBenchmark {
+
+    private static final int COSPLAYS = 50_000;
+    private static final int RENTALS = 100_000;
+    private static final int WARMUP_ROUNDS = 5;
+    private static final int ROUNDS = 10;
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @FunctionalInterface
+    private interface ListLoad {
+        List<?> load(ResultSet rs) throws SQLException;
+    }
+
+    public static void main(String[] args) throws Exception {
+        File dbFile = File.createTempFile("cosplay-mapper-bench", ".db");
+        dbFile.deleteOnExit();
+        new File(dbFile.getPath() + "-wal").deleteOnExit();
+        new File(dbFile.getPath() + "-shm").deleteOnExit();
+        System.setProperty("cosplay.db.path", dbFile.getPath());
+
+        try {
+            Database.init();
+            populate();
+
+            compare("cosplays", "SELECT * FROM cosplays", COSPLAYS,
+                    RowMapperBenchmark::legacyCosplays, CosplayDAO.MAPPER::list);
+            compare("rentals", "SELECT * FROM rentals", RENTALS,
+                    RowMapperBenchmark::legacyRentals, RentalDAO.MAPPER::list);
+        } finally {
+            Database.close();
+        }
+    }
+
+    private static void compare(String name, String sql, int rows, ListLoad legacy, ListLoad mapper) throws SQLException {
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            run(sql, legacy);
+            run(sql, mapper);
+        }
+        long[] legacyCost = new long[2];
+        long[] mapperCost = new long[2];
+        for (int i = 0; i < ROUNDS; i++) {
+            add(legacyCost, run(sql, legacy));
+            add(mapperCost, run(sql, mapper));
+        }
+        long total = (long) rows * ROUNDS;
+        System.out.printf("%-9s by name:    %6d ns/row  %5d B/row%n", name, legacyCost[0] / total, legacyCost[1] / total);
+        // Change against by-name mapping: negative is cheaper
+        System.out.printf("%-9s RowMapper:  %6d ns/row  %5d B/row  (CPU %+.0f%%, allocation %+.0f%%)%n", name,
+                mapperCost[0] / total, mapperCost[1] / total,
+                100.0 * (mapperCost[0] - legacyCost[0]) / legacyCost[0],
+                100.0 * (mapperCost[1] - legacyCost[1]) / legacyCost[1]);
+    }
+
+    private static void add(long[] sum, long[] cost) {
+        sum[0] += cost[0];
+        sum[1] += cost[1];
+    }
+
+    // Returns {cpu nanos, bytes allocated} for one full list load
+    private static long[] run(String sql, ListLoad load) throws SQLException {
+        long thread = Thread.currentThread().threadId();
+        try (Connection conn = Database.connect(); Statement st = conn.createStatement()) {
+            long cpu = THREADS.getCurrentThreadCpuTime();
+            long bytes = THREADS.getThreadAllocatedBytes(thread);
+            try (ResultSet rs = st.executeQuery(sql)) {
+                load.load(rs);
+            }
+            return new long[] {
+                THREADS.getCurrentThreadCpuTime() - cpu,
+                THREADS.getThreadAllocatedBytes(thread) - bytes
+            };
+        }
+    }
+
+    private static void populate() throws SQLException {
+        Database.write(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO cosplays(name, category, series_name, size, description, image_path, rent_rate_1day, rent_rate_2days, rent_rate_3days, add_ons) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                for (int i = 1; i <= COSPLAYS; i++) {
+                    ps.setString(1, "Costume " + i);
+                    ps.setString(2, i % 3 == 0 ? "Game" : "Anime");
+                    ps.setString(3, "Series " + (i % 200));
+                    ps.setString(4, "M");
+                    ps.setString(5, "Full set with accessories");
+                    ps.setString(6, "/images/" + i + ".jpg");
+                    ps.setDouble(7, 500);
+                    if (i % 4 == 0) ps.setNull(8, java.sql.Types.REAL); else ps.setDouble(8, 900);
+                    ps.setDouble(9, 1200);
+                    ps.setString(10, null);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO rentals(cosplay_id, customer_name, contact_number, address, facebook_link, start_date, end_date, rent_days, payment_method, status) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+                long day = LocalDate.now().toEpochDay();
+                for (int i = 1; i <= RENTALS; i++) {
+                    ps.setInt(1, 1 + i % COSPLAYS);
+                    ps.setString(2, "Customer " + i);
+                    ps.setString(3, "0917" + i);
+                    ps.setString(4, "Manila");
+                    ps.setString(5, "fb.com/c" + i);
+                    ps.setLong(6, day + i % 365);
+                    ps.setLong(7, day + i % 365 + 2);
+                    ps.setInt(8, 3);
+                    ps.setString(9, "GCash");
+                    ps.setString(10, "Confirmed");
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            return null;
+        });
+    }
+
+    // Copies of the name-based mapping the DAOs used before RowMapper
+
+    private static List<Cosplay> legacyCosplays(ResultSet rs) throws SQLException {
+        List<Cosplay> list = new ArrayList<>();
+        while (rs.next()) {
+            Cosplay c = new Cosplay();
+            c.setId(rs.getInt("cosplay_id"));
+            c.setName(rs.getString("name"));
+            c.setCategory(rs.getString("category"));
+            c.setSeriesName(rs.getString("series_name"));
+            c.setSize(rs.getString("size"));
+            c.setDescription(rs.getString("description"));
+            c.setImagePath(rs.getString("image_path"));
+            c.setRentRate1Day(rs.getObject("rent_rate_1day") != null ? rs.getDouble("rent_rate_1day") : null);
+            c.setRentRate2Days(rs.getObject("rent_rate_2days") != null ? rs.getDouble("rent_rate_2days") : null);
+            c.setRentRate3Days(rs.getObject("rent_rate_3days") != null ? rs.getDouble("rent_rate_3days") : null);
+            c.setAddOns(rs.getString("add_ons"));
+            list.add(c);
+        }
+        return list;
+    }
+
+    private static List<Rental> legacyRentals(ResultSet rs) throws SQLException {
+        List<Rental> list = new ArrayList<>();
+        while (rs.next()) {
+            Rental r = new Rental();
+            r.setId(rs.getInt("rental_id"));
+            r.setCosplayId(rs.getInt("cosplay_id"));
+            r.setCustomerName(rs.getString("customer_name"));
+            r.setContactNumber(rs.getString("contact_number"));
+            r.setAddress(rs.getString("address"));
+            r.setFacebookLink(rs.getString("facebook_link"));
+            r.setStartDate(LocalDate.ofEpochDay(rs.getLong("start_date")));
+            r.setEndDate(LocalDate.ofEpochDay(rs.getLong("end_date")));
+            r.setRentDays(rs.getInt("rent_days"));
+            r.setCustomerAddOns(rs.getString("customer_addons"));
+            r.setPaymentMethod(rs.getString("payment_method"));
+            r.setProofOfPayment(rs.getString("proof_of_payment"));
+            r.setSelfiePhoto(rs.getString("selfie_photo"));
+            r.setIdPhoto(rs.getString("id_photo"));
+            r.setStatus(rs.getString("status"));
+            list.add(r);
+        }
+        return list;
+    }
+}
@@ -12,6 +12,18 @@ import java.sql.SQLException;
 
 public class UserDAO {
 
+	static final RowMapper<User> MAPPER = RowMapper.builder(User::new)
+			.integer("user_id", User::setUserId)
+			.string("username", User::setUsername)
+			.string("password", User::setPassword)
+			.string("email", User::setEmail)
+			.string("role", User::setRole)
+			.flag("email_verified", User::setEmailVerified)
+			.string("verification_token", User::setVerificationToken)
+			.string("oauth_provider", User::setOauthProvider)
+			.string("oauth_id", User::setOauthId)
+			.build();
+
 	/**
 	 * Authenticate a user with username and password.
 	 * @param username the username
@@ -27,7 +39,7 @@ public class UserDAO {
 					String hashedPassword = rs.getString("password");
 					// Verify password using BCrypt
 					if (hashedPassword != null && PasswordUtil.verifyPassword(password, hashedPassword)) {
-						return mapUser(rs);
+						return MAPPER.map(rs);
 					}
 				}
 			}
@@ -44,17 +56,22 @@ public class UserDAO {
 	 */
 	public boolean createUser(User u) {
 		String sql = "INSERT INTO users(username, password, email, role, email_verified, verification_token, oauth_provider) VALUES (?, ?, ?, ?, ?, ?, ?)";
-		try (Connection conn = Database.connect(); PreparedStatement ps = conn.prepareStatement(sql)) {
-			ps.setString(1, u.getUsername());
-			// Hash password before storing (can be null for OAuth users)
-			ps.setString(2, u.getPassword() != null ? PasswordUtil.hashPassword(u.getPassword()) : null);
-			ps.setString(3, u.getEmail());
-			ps.setString(4, u.getRole() == null ? "customer" : u.getRole());
-			ps.setInt(5, u.isEmailVerified() ? 1 : 0);
-			ps.setString(6, u.getVerificationToken());
-			ps.setString(7, u.getOauthProvider());
-			ps.executeUpdate();
-			return true;
+		// Hash password before storing (can be null for OAuth users); done outside the write so BCrypt doesn't hold the writer
+		String hashedPassword = u.getPassword() != null ? PasswordUtil.hashPassword(u.getPassword()) : null;
+		try {
+			return Database.write(conn -> {
+				try (PreparedStatement ps = conn.prepareStatement(sql)) {
+					ps.setString(1, u.getUsername());
+					ps.setString(2, hashedPassword);
+					ps.setString(3, u.getEmail());
+					ps.setString(4, u.getRole() == null ? "customer" : u.getRole());
+					ps.setInt(5, u.isEmailVerified() ? 1 : 0);
+					ps.setString(6, u.getVerificationToken());
+					ps.setString(7, u.getOauthProvider());
+					ps.executeUpdate();
+					return true;
+				}
+			});
 		} catch (SQLException e) { 
 			e.printStackTrace(); 
 			return false; 
@@ -108,10 +125,14 @@ public class UserDAO {
 	 */
 	public boolean verifyEmail(String token) {
 		String sql = "UPDATE users SET email_verified = 1, verification_token = NULL WHERE verification_token = ?";
-		try (Connection conn = Database.connect(); PreparedStatement ps = conn.prepareStatement(sql)) {
-			ps.setString(1, token);
-			int rowsAffected = ps.executeUpdate();
-			return rowsAffected > 0;
+		try {
+			return Database.write(conn -> {
+				try (PreparedStatement ps = conn.prepareStatement(sql)) {
+					ps.setString(1, token);
+					int rowsAffected = ps.executeUpdate();
+					return rowsAffected > 0;
+				}
+			});
 		} catch (SQLException e) { 
 			e.printStackTrace(); 
 			return false; 
@@ -129,7 +150,7 @@ public class UserDAO {
 			ps.setString(1, token);
 			try (ResultSet rs = ps.executeQuery()) {
 				if (rs.next()) {
-					return mapUser(rs);
+					return MAPPER.map(rs);
 				}
 			}
 		} catch (SQLException e) { 
@@ -154,7 +175,7 @@ public class UserDAO {
 			ps.setString(2, oauthId);
 			try (ResultSet rs = ps.executeQuery()) {
 				if (rs.next()) {
-					return mapUser(rs);
+					return MAPPER.map(rs);
 				}
 			}
 		} catch (SQLException e) { 
@@ -172,23 +193,27 @@ public class UserDAO {
 		newUser.setPassword(null); // No password for OAuth users
 
 		String insertSql = "INSERT INTO users(username, password, email, role, email_verified, oauth_provider, oauth_id) VALUES (?, ?, ?, ?, ?, ?, ?)";
-		try (Connection conn = Database.connect(); PreparedStatement ps = conn.prepareStatement(insertSql)) {
-			ps.setString(1, newUser.getUsername());
-			ps.setString(2, null);
-			ps.setString(3, newUser.getEmail());
-			ps.setString(4, newUser.getRole());
-			ps.setInt(5, 1);
-			ps.setString(6, newUser.getOauthProvider());
-			ps.setString(7, oauthId);
-			ps.executeUpdate();
+		try {
+			return Database.write(conn -> {
+				try (PreparedStatement ps = conn.prepareStatement(insertSql)) {
+					ps.setString(1, newUser.getUsername());
+					ps.setString(2, null);
+					ps.setString(3, newUser.getEmail());
+					ps.setString(4, newUser.getRole());
+					ps.setInt(5, 1);
+					ps.setString(6, newUser.getOauthProvider());
+					ps.setString(7, oauthId);
+					ps.executeUpdate();
 
-			// Get the generated user ID
-			try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
-				if (generatedKeys.next()) {
-					newUser.setUserId(generatedKeys.getInt(1));
+					// Get the generated user ID
+					try (ResultSet generatedKeys = ps.getGeneratedKeys()) {
+						if (generatedKeys.next()) {
+							newUser.setUserId(generatedKeys.getInt(1));
+						}
+					}
+					return newUser;
 				}
-			}
-			return newUser;
+			});
 		} catch (SQLException e) { 
 			e.printStackTrace(); 
 			return null;
@@ -203,11 +228,15 @@ public class UserDAO {
 	public String resendVerificationToken(String email) {
 		String newToken = TokenUtil.generateToken();
 		String sql = "UPDATE users SET verification_token = ? WHERE email = ? AND email_verified = 0";
-		try (Connection conn = Database.connect(); PreparedStatement ps = conn.prepareStatement(sql)) {
-			ps.setString(1, newToken);
-			ps.setString(2, email);
-			int rowsAffected = ps.executeUpdate();
-			return rowsAffected > 0 ? newToken : null;
+		try {
+			return Database.write(conn -> {
+				try (PreparedStatement ps = conn.prepareStatement(sql)) {
+					ps.setString(1, newToken);
+					ps.setString(2, email);
+					int rowsAffected = ps.executeUpdate();
+					return rowsAffected > 0 ? newToken : null;
+				}
+			});
 		} catch (SQLException e) { 
 			e.printStackTrace(); 
 			return null; 
@@ -225,7 +254,7 @@ public class UserDAO {
 			ps.setString(1, email);
 			try (ResultSet rs = ps.executeQuery()) {
 				if (rs.next()) {
-					return mapUser(rs);
+					return MAPPER.map(rs);
 				}
 			}
 		} catch (SQLException e) { 
@@ -242,11 +271,15 @@ public class UserDAO {
 	 */
 	public boolean setPasswordResetToken(String email, String resetToken) {
 		String sql = "UPDATE users SET verification_token = ? WHERE email = ?";
-		try (Connection conn = Database.connect(); PreparedStatement ps = conn.prepareStatement(sql)) {
-			ps.setString(1, resetToken);
-			ps.setString(2, email);
-			int rowsAffected = ps.executeUpdate();
-			return rowsAffected > 0;
+		try {
+			return Database.write(conn -> {
+				try (PreparedStatement ps = conn.prepareStatement(sql)) {
+					ps.setString(1, resetToken);
+					ps.setString(2, email);
+					int rowsAffected = ps.executeUpdate();
+					return rowsAffected > 0;
+				}
+			});
 		} catch (SQLException e) { 
 			e.printStackTrace(); 
 			return false; 
@@ -261,31 +294,19 @@ public class UserDAO {
 	 */
 	public boolean resetPassword(String resetToken, String newPassword) {
 		String sql = "UPDATE users SET password = ?, verification_token = NULL WHERE verification_token = ?";
-		try (Connection conn = Database.connect(); PreparedStatement ps = conn.prepareStatement(sql)) {
-			ps.setString(1, PasswordUtil.hashPassword(newPassword));
-			ps.setString(2, resetToken);
-			int rowsAffected = ps.executeUpdate();
-			return rowsAffected > 0;
+		String hashedPassword = PasswordUtil.hashPassword(newPassword);
+		try {
+			return Database.write(conn -> {
+				try (PreparedStatement ps = conn.prepareStatement(sql)) {
+					ps.setString(1, hashedPassword);
+					ps.setString(2, resetToken);
+					int rowsAffected = ps.executeUpdate();
+					return rowsAffected > 0;
+				}
+			});
 		} catch (SQLException e) { 
 			e.printStackTrace(); 
 			return false; 
 		}
 	}
-
-	/**
-	 * Helper method to map ResultSet to User object.
-	 */
-	private User mapUser(ResultSet rs) throws SQLException {
-		User u = new User();
-		u.setUserId(rs.getInt("user_id"));
-		u.setUsername(rs.getString("username"));
-		u.setPassword(rs.getString("password"));
-		u.setEmail(rs.getString("email"));
-		u.setRole(rs.getString("role"));
-		u.setEmailVerified(rs.getInt("email_verified") == 1);
-		u.setVerificationToken(rs.getString("verification_token"));
-		u.setOauthProvider(rs.getString("oauth_provider"));
-		u.setOauthId(rs.getString("oauth_id"));
-		return u;
-	}
 }
@@ -18,6 +18,9 @@ public class Rental {
     private String selfiePhoto;
     private String idPhoto;
     private String status;
+    // Filled in by RentalDAO's listing queries, which join the cosplay; null otherwise
+    private String cosplayName;
+    private String cosplaySeriesName;
 
     public Rental() {}
 
@@ -52,6 +55,10 @@ public class Rental {
     public void setIdPhoto(String idPhoto) { this.idPhoto = idPhoto; }
     public String getStatus() { return status; }
     public void setStatus(String status) { this.status = status; }
+    public String getCosplayName() { return cosplayName; }
+    public void setCosplayName(String cosplayName) { this.cosplayName = cosplayName; }
+    public String getCosplaySeriesName() { return cosplaySeriesName; }
+    public void setCosplaySeriesName(String cosplaySeriesName) { this.cosplaySeriesName = cosplaySeriesName; }
 
     @Override
     public String toString() {
@@ -0,0 +1,254 @@
+package com.cosplay.ui;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Supplier;
+
+import javafx.application.Platform;
+import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
+import javafx.collections.ObservableList;
+import javafx.geometry.Insets;
+import javafx.scene.Node;
+import javafx.scene.control.ListCell;
+import javafx.scene.control.ListView;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.StackPane;
+
+/**
+ * A scrolling grid of fixed-width cards that only builds the cards on screen.
+ *
+ * The grid is a ListView of rows, so JavaFX's VirtualFlow decides which rows exist. Each row
+ * keeps its cards and rebinds them to other items as it is recycled; scrolling through
+ * thousands of items reuses the same few dozen cards. The number of columns follows the width.
+ * Appending items only touches the last rows, so the cards already on screen stay bound.
+ * Usage: grid.setCardFactory(MyCard::new); grid.getItems().addAll(page);
+ */
+public final class CardGrid<T> extends StackPane {
+
+    /** One card's controls, built once and pointed at a new item as the grid scrolls. */
+    public interface Card<T> {
+        Node getNode();
+
+        /** Show {@code item}. */
+        void bind(T item);
+
+        /** The card has left the grid or is about to show another item. */
+        void unbind();
+    }
+
+    // Room for the vertical scroll bar
+    private static final double SCROLL_BAR_ALLOWANCE = 20;
+
+    private final ObservableList<T> items = FXCollections.observableArrayList();
+    // What the ListView virtualizes. A row is unequal to the last one at its index whenever
+    // its items differ, which is what makes the ListView rebind that row's cell and no other
+    private record Row(int first, int count, int layout) {}
+
+    private final ObservableList<Row> rows = FXCollections.observableArrayList();
+    private final ListView<Row> list = new ListView<>(rows);
+    // Every row cell the ListView has made, so cards can be unbound without a layout pass
+    private final List<RowCell> cells = new ArrayList<>();
+    private Supplier<? extends Card<T>> cardFactory;
+    private Runnable onNearEnd;
+    // A near-end callback is already posted
+    private boolean nearEndPosted;
+    private double cardWidth = 200;
+    private double hgap = 25;
+    private double vgap = 25;
+    private Insets gridPadding = new Insets(30, 40, 30, 40);
+    private int columns = 1;
+    // Bumped when every row must be rebound
+    private int layout;
+
+    public CardGrid() {
+        list.setFocusTraversable(false);
+        list.setStyle("-fx-background-color: transparent; -fx-background-insets: 0; -fx-padding: 0;");
+        list.setCellFactory(lv -> {
+            RowCell cell = new RowCell();
+            cells.add(cell);
+            return cell;
+        });
+        list.widthProperty().addListener((obs, oldVal, newVal) -> layoutRows(false));
+        items.addListener((ListChangeListener<T>) change -> {
+            boolean appended = true;
+            while (change.next()) {
+                appended &= change.wasAdded() && !change.wasRemoved() && change.getTo() == items.size();
+            }
+            layoutRows(!appended);
+        });
+        getChildren().add(list);
+    }
+
+    public ObservableList<T> getItems() {
+        return items;
+    }
+
+    public void setCardFactory(Supplier<? extends Card<T>> cardFactory) {
+        this.cardFactory = cardFactory;
+        layoutRows(true);
+    }
+
+    /**
+     * Called whenever the last rows come into view, e.g. to fetch the next page.
+     * Runs on the FX thread just after the layout pass that showed them.
+     */
+    public void setOnNearEnd(Runnable onNearEnd) {
+        this.onNearEnd = onNearEnd;
+    }
+
+    /** Shown while there are no items. */
+    public void setPlaceholder(Node placeholder) {
+        list.setPlaceholder(placeholder);
+    }
+
+    public double getCardWidth() {
+        return cardWidth;
+    }
+
+    public void setCardWidth(double cardWidth) {
+        this.cardWidth = cardWidth;
+        layoutRows(false);
+    }
+
+    public double getHgap() {
+        return hgap;
+    }
+
+    public void setHgap(double hgap) {
+        this.hgap = hgap;
+        layoutRows(true);
+    }
+
+    public double getVgap() {
+        return vgap;
+    }
+
+    public void setVgap(double vgap) {
+        this.vgap = vgap;
+        layoutRows(true);
+    }
+
+    public Insets getGridPadding() {
+        return gridPadding;
+    }
+
+    /** Space above the first row and beside every row; each row, the last included, is followed by the vertical gap. */
+    public void setGridPadding(Insets gridPadding) {
+        this.gridPadding = gridPadding;
+        layoutRows(true);
+    }
+
+    /**
+     * Remove every item and unbind every card now, e.g. when the view is left and there
+     * will be no further layout pass to do it.
+     */
+    public void unbindAll() {
+        items.clear();
+        for (RowCell cell : cells) {
+            cell.unbindFrom(0);
+        }
+    }
+
+    public void scrollToTop() {
+        list.scrollTo(0);
+    }
+
+    /**
+     * Fit as many columns as the width allows and bring the rows up to date. Rows that still
+     * hold the same items are kept, so their cells are not rebound; {@code reset} drops them
+     * all, for when items were replaced rather than appended.
+     */
+    private void layoutRows(boolean reset) {
+        double usable = list.getWidth() - gridPadding.getLeft() - gridPadding.getRight() - SCROLL_BAR_ALLOWANCE;
+        int fit = Math.max(1, (int) ((usable + hgap) / (cardWidth + hgap)));
+        if (fit != columns || reset) {
+            columns = fit;
+            layout++;
+            rows.clear();
+        }
+        int keep = 0;
+        while (keep < rows.size() && rows.get(keep).equals(rowAt(keep))) {
+            keep++;
+        }
+        if (keep < rows.size()) {
+            rows.remove(keep, rows.size());
+        }
+        List<Row> added = new ArrayList<>();
+        for (int r = keep; r * columns < items.size(); r++) {
+            added.add(rowAt(r));
+        }
+        rows.addAll(added);
+    }
+
+    // Runs the callback after the current layout pass rather than inside it
+    private void postNearEnd() {
+        if (nearEndPosted) return;
+        nearEndPosted = true;
+        Platform.runLater(() -> {
+            nearEndPosted = false;
+            if (onNearEnd != null) onNearEnd.run();
+        });
+    }
+
+    private Row rowAt(int index) {
+        int first = index * columns;
+        return new Row(first, Math.max(0, Math.min(columns, items.size() - first)), layout);
+    }
+
+    private class RowCell extends ListCell<Row> {
+        private final HBox row = new HBox();
+        private final List<Card<T>> cards = new ArrayList<>();
+        private final List<T> bound = new ArrayList<>();
+
+        RowCell() {
+            setStyle("-fx-background-color: transparent; -fx-padding: 0;");
+        }
+
+        @Override
+        protected void updateItem(Row item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null || cardFactory == null) {
+                unbindFrom(0);
+                setGraphic(null);
+                return;
+            }
+            while (cards.size() < item.count()) {
+                cards.add(cardFactory.get());
+                bound.add(null);
+            }
+            int rowIndex = getIndex();
+            row.setSpacing(hgap);
+            row.setPadding(new Insets(rowIndex == 0 ? gridPadding.getTop() : 0, gridPadding.getRight(),
+                    vgap, gridPadding.getLeft()));
+            List<Node> nodes = new ArrayList<>(item.count());
+            for (int i = 0; i < item.count(); i++) {
+                T value = items.get(item.first() + i);
+                Card<T> card = cards.get(i);
+                if (bound.get(i) != value) {
+                    if (bound.get(i) != null) card.unbind();
+                    card.bind(value);
+                    bound.set(i, value);
+                }
+                nodes.add(card.getNode());
+            }
+            unbindFrom(item.count());
+            if (!row.getChildren().equals(nodes)) {
+                row.getChildren().setAll(nodes);
+            }
+            setGraphic(row);
+            if (onNearEnd != null && rowIndex >= rows.size() - 2) {
+                postNearEnd();
+            }
+        }
+
+        private void unbindFrom(int index) {
+            for (int i = index; i < cards.size(); i++) {
+                if (bound.get(i) != null) {
+                    cards.get(i).unbind();
+                    bound.set(i, null);
+                }
+            }
+        }
+    }
+}
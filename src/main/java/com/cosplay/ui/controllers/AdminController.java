@@ -1,9 +1,13 @@
 package com.cosplay.ui.controllers;
 
+import com.cosplay.dao.CosplayCriteria;
 import com.cosplay.dao.CosplayDAO;
+import com.cosplay.dao.CosplaySort;
 import com.cosplay.dao.RentalDAO;
 import com.cosplay.dao.FeaturedDAO;
 import com.cosplay.dao.EventBannerDAO;
+import com.cosplay.dao.DaoExecutor;
+import com.cosplay.dao.Page;
 import com.cosplay.model.Cosplay;
 import com.cosplay.model.Rental;
 import com.cosplay.model.FeaturedItem;
@@ -22,10 +26,15 @@ import javafx.geometry.Insets;
 import javafx.geometry.Pos;
 import javafx.stage.Stage;
 import javafx.stage.FileChooser;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import java.io.File;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
 public class AdminController {
     @FXML private NavController navBarController;
@@ -45,6 +54,20 @@ public class AdminController {
     private final FeaturedDAO featuredDAO = new FeaturedDAO();
     private final EventBannerDAO eventBannerDAO = new EventBannerDAO();
     private String currentSection = "catalog";
+    // Bumped on every list load so a slow, older result never replaces a newer one
+    private int loadGeneration = 0;
+    // Lists are fetched a page at a time; the marker row at the end of the list pulls in the next page
+    private static final int PAGE_SIZE = 50;
+    private static final Object MORE_ROWS = new Object();
+    // Takes the marker row's place when fetching the next page failed; offers a retry
+    private static final Object LOAD_FAILED = new Object();
+    private Function<Page.Cursor, CompletableFuture<? extends Page<?>>> pageSource;
+    private Page.Cursor nextPage;
+    private boolean pageLoading;
+    // Slot assignments shown by the featured list's rows
+    private List<FeaturedItem> featuredSlots = List.of();
+    
+    private record FeaturedData(List<FeaturedItem> featured, Page<Cosplay> cosplays) {}
 
     @FXML
     private void initialize() {
@@ -200,329 +223,391 @@ public class AdminController {
         }
     }
 
-    private void loadCosplays() {
-        var allCosplays = cosplayDAO.getAll();
-        
-        // Apply search filter
-        String searchText = searchField != null ? searchField.getText() : null;
-        if (searchText != null && !searchText.trim().isEmpty()) {
-            String search = searchText.trim().toLowerCase();
-            allCosplays = allCosplays.stream()
-                .filter(c -> c.getName().toLowerCase().contains(search) ||
-                           (c.getSeriesName() != null && c.getSeriesName().toLowerCase().contains(search)) ||
-                           (c.getCategory() != null && c.getCategory().toLowerCase().contains(search)))
-                .collect(java.util.stream.Collectors.toList());
-        }
-        
-        cosplayListView.setVisible(true);
-        
-        // Clear and reset the cell factory
-        cosplayListView.setItems(null);
-        cosplayListView.setCellFactory(lv -> new ListCell<Object>() {
-            @Override
-            protected void updateItem(Object item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setGraphic(null);
-                } else if (item instanceof Cosplay) {
-                    Cosplay cosplay = (Cosplay) item;
-                    HBox row = createCosplayRow(cosplay, getIndex() + 1);
-                    setGraphic(row);
-                } else {
-                    setGraphic(null);
-                }
+    /**
+     * Load a section's data in the background and render it when it arrives,
+     * unless another section load has started since.
+     */
+    private <T> void loadAsync(CompletableFuture<T> data, Consumer<T> render) {
+        int generation = ++loadGeneration;
+        data.whenComplete((result, error) -> {
+            if (generation != loadGeneration) return;
+            if (error != null) {
+                // A page fetch for the previous list may have been cut off; stop paging it
+                pageLoading = false;
+                nextPage = null;
+                cosplayListView.setItems(FXCollections.observableArrayList());
+                showAlert(Alert.AlertType.ERROR, "Error", "Failed to load this section. Please try again.");
+                return;
             }
+            render.accept(result);
         });
-        
-        // Set items after cell factory is configured
-        cosplayListView.setItems(FXCollections.observableArrayList(allCosplays));
-        cosplayListView.setStyle("-fx-background-color: transparent; -fx-border-color: transparent;");
     }
-    
-    private HBox createCosplayRow(Cosplay cosplay, int index) {
-        HBox row = new HBox(20);
-        row.setAlignment(Pos.CENTER_LEFT);
-        row.setPadding(new Insets(15, 10, 15, 10));
-        row.setStyle("-fx-border-color: #e0e0e0; -fx-border-width: 0 0 1 0;");
-        
-        Label lblNo = new Label(String.valueOf(index));
-        lblNo.setMinWidth(50);
-        lblNo.setMaxWidth(50);
-        lblNo.setStyle("-fx-font-size: 14px;");
-        
-        Label lblCategory = new Label(cosplay.getCategory() != null ? cosplay.getCategory() : "N/A");
-        lblCategory.setMinWidth(150);
-        lblCategory.setMaxWidth(150);
-        lblCategory.setWrapText(true);
-        lblCategory.setStyle("-fx-font-size: 14px;");
-        
-        Label lblSeries = new Label(cosplay.getSeriesName() != null ? cosplay.getSeriesName() : "N/A");
-        lblSeries.setMinWidth(200);
-        lblSeries.setPrefWidth(200);
-        lblSeries.setMaxWidth(300);
-        lblSeries.setWrapText(true);
-        lblSeries.setStyle("-fx-font-size: 14px;");
-        
-        Label lblCharacter = new Label(cosplay.getName());
-        lblCharacter.setMinWidth(200);
-        lblCharacter.setPrefWidth(200);
-        lblCharacter.setMaxWidth(300);
-        lblCharacter.setWrapText(true);
-        lblCharacter.setStyle("-fx-font-size: 14px;");
-        
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
-        
-        Button btnEdit = new Button("✏ Edit");
-        btnEdit.setStyle("-fx-background-color: #e6a84c; -fx-text-fill: white; -fx-background-radius: 15; -fx-cursor: hand; -fx-padding: 5 15;");
-        btnEdit.setOnAction(e -> editCosplay(cosplay));
-        
-        Button btnDelete = new Button("🗑 Delete");
-        btnDelete.setStyle("-fx-background-color: #e6a84c; -fx-text-fill: white; -fx-background-radius: 15; -fx-cursor: hand; -fx-padding: 5 15;");
-        btnDelete.setOnAction(e -> deleteCosplay(cosplay));
-        
-        row.getChildren().addAll(lblNo, lblCategory, lblSeries, lblCharacter, spacer, btnEdit, btnDelete);
-        return row;
-    }
-    
-    private HBox createRentalRow(Rental rental) {
-        HBox row = new HBox(20);
-        row.setAlignment(Pos.CENTER_LEFT);
-        row.setPadding(new Insets(15));
-        row.setStyle("-fx-border-color: #e0e0e0; -fx-border-width: 0 0 1 0; -fx-background-color: white;");
-        
-        // Get cosplay details
-        String cosplayName = "Unknown";
-        var cosplayOpt = cosplayDAO.findById(rental.getCosplayId());
-        if (cosplayOpt.isPresent()) {
-            cosplayName = cosplayOpt.get().getName();
-        }
-        
-        // Order Details column - consolidated (450px to match header)
-        VBox detailsBox = new VBox(5);
-        detailsBox.setMinWidth(450);
-        
-        Label lblOrder = new Label("Order #" + rental.getId());
-        lblOrder.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #e6a84c;");
-        
-        Label lblCosplay = new Label("Cosplay: " + cosplayName);
-        lblCosplay.setStyle("-fx-font-size: 13px;");
-        
-        Label lblCustomer = new Label("Customer: " + rental.getCustomerName());
-        lblCustomer.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
-        
-        Label lblContact = new Label("Contact: " + rental.getContactNumber());
-        lblContact.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
-        
-        Label lblDates = new Label("Period: " + rental.getStartDate() + " to " + rental.getEndDate());
-        lblDates.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
-        
-        detailsBox.getChildren().addAll(lblOrder, lblCosplay, lblCustomer, lblContact, lblDates);
-        
-        // Status column (120px to match header)
-        VBox statusBox = new VBox(3);
-        statusBox.setAlignment(Pos.CENTER_LEFT);
-        statusBox.setMinWidth(120);
-        
-        Label lblStatusLabel = new Label("Status:");
-        lblStatusLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #888;");
-        
-        Label lblStatusValue = new Label(rental.getStatus() != null ? rental.getStatus() : "Pending");
-        String statusColor = switch(rental.getStatus() != null ? rental.getStatus() : "Pending") {
-            case "Confirmed" -> "#4CAF50";
-            case "Rented" -> "#2196F3";
-            case "Returned" -> "#9E9E9E";
-            case "Cancelled" -> "#F44336";
-            default -> "#FF9800";
-        };
-        lblStatusValue.setStyle("-fx-font-weight: bold; -fx-font-size: 13px; -fx-text-fill: " + statusColor + ";");
-        
-        statusBox.getChildren().addAll(lblStatusLabel, lblStatusValue);
-        
-        // Payment column (120px to match header)
-        VBox paymentBox = new VBox(3);
-        paymentBox.setAlignment(Pos.CENTER_LEFT);
-        paymentBox.setMinWidth(120);
-        
-        Label lblPaymentLabel = new Label("Payment:");
-        lblPaymentLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #888;");
-        
-        Label lblPaymentValue = new Label(rental.getPaymentMethod() != null ? rental.getPaymentMethod() : "N/A");
-        lblPaymentValue.setStyle("-fx-font-size: 13px;");
-        
-        paymentBox.getChildren().addAll(lblPaymentLabel, lblPaymentValue);
-        
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
-        
-        VBox actionsBox = new VBox(5);
-        actionsBox.setAlignment(Pos.CENTER_RIGHT);
-        
-        Button btnView = new Button("👁 View");
-        btnView.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-background-radius: 15; -fx-cursor: hand; -fx-padding: 5 15; -fx-font-size: 12px;");
-        btnView.setOnAction(e -> viewRentalDetails(rental));
-        
-        Button btnUpdateStatus = new Button("✓ Update Status");
-        btnUpdateStatus.setStyle("-fx-background-color: #e6a84c; -fx-text-fill: white; -fx-background-radius: 15; -fx-cursor: hand; -fx-padding: 5 15; -fx-font-size: 12px;");
-        btnUpdateStatus.setOnAction(e -> updateRentalStatus(rental));
-        
-        actionsBox.getChildren().addAll(btnView, btnUpdateStatus);
-        
-        row.getChildren().addAll(detailsBox, statusBox, paymentBox, spacer, actionsBox);
-        return row;
+
+    private void loadCosplays() {
+        // The search box is applied in the query
+        String search = searchField != null ? searchField.getText() : null;
+        CosplayCriteria criteria = CosplayCriteria.ALL.withText(search).withSort(CosplaySort.RELEVANCE);
+        loadAsync(cosplayDAO.searchAsync(criteria, null, PAGE_SIZE),
+                page -> showPaged(page, after -> cosplayDAO.searchAsync(criteria, after, PAGE_SIZE), CosplayRowCell::new));
     }
-    
-    private void loadOrders() {
-        var allRentals = rentalDAO.getAllRentals();
-        
-        // Apply search filter
-        String searchText = searchField != null ? searchField.getText() : null;
-        if (searchText != null && !searchText.trim().isEmpty()) {
-            String search = searchText.trim().toLowerCase();
-            allRentals = allRentals.stream()
-                .filter(r -> r.getCustomerName().toLowerCase().contains(search) ||
-                           r.getContactNumber().toLowerCase().contains(search) ||
-                           (r.getStatus() != null && r.getStatus().toLowerCase().contains(search)))
-                .collect(java.util.stream.Collectors.toList());
-        }
-        
+
+    /**
+     * Show the first page of a list and hand the ListView its row cells. Further pages come
+     * from {@code source} as the user scrolls onto the marker row at the end.
+     */
+    private <T> void showPaged(Page<T> first, Function<Page.Cursor, CompletableFuture<Page<T>>> source,
+                               Supplier<ListCell<Object>> cells) {
+        pageSource = after -> source.apply(after);
+        nextPage = first.next();
+        pageLoading = false;
+
         cosplayListView.setVisible(true);
-        
         // Clear and reset the cell factory
         cosplayListView.setItems(null);
-        cosplayListView.setCellFactory(lv -> new ListCell<Object>() {
-            @Override
-            protected void updateItem(Object item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setGraphic(null);
-                } else if (item instanceof Rental) {
-                    Rental rental = (Rental) item;
-                    HBox row = createRentalRow(rental);
-                    setGraphic(row);
-                } else {
-                    setGraphic(null);
-                }
-            }
-        });
-        
+        cosplayListView.setCellFactory(lv -> cells.get());
+
         // Set items after cell factory is configured
-        cosplayListView.setItems(FXCollections.observableArrayList(allRentals));
+        var items = FXCollections.<Object>observableArrayList(first.items());
+        if (nextPage != null) {
+            items.add(MORE_ROWS);
+        }
+        cosplayListView.setItems(items);
         cosplayListView.setStyle("-fx-background-color: transparent; -fx-border-color: transparent;");
     }
-    
-    private void loadFeatured() {
-        List<FeaturedItem> featured = featuredDAO.listAll();
-        List<Cosplay> allCosplays = cosplayDAO.getAll();
-        
-        // Apply search filter
-        String searchText = searchField != null ? searchField.getText() : null;
-        if (searchText != null && !searchText.trim().isEmpty()) {
-            String search = searchText.trim().toLowerCase();
-            allCosplays = allCosplays.stream()
-                .filter(c -> c.getName().toLowerCase().contains(search) ||
-                           (c.getSeriesName() != null && c.getSeriesName().toLowerCase().contains(search)))
-                .collect(java.util.stream.Collectors.toList());
-        }
-        
-        cosplayListView.setVisible(true);
-        cosplayListView.setItems(null);
-        
-        cosplayListView.setCellFactory(lv -> new ListCell<Object>() {
-            @Override
-            protected void updateItem(Object item, boolean empty) {
-                super.updateItem(item, empty);
-                if (empty || item == null) {
-                    setGraphic(null);
-                } else if (item instanceof Cosplay) {
-                    Cosplay cosplay = (Cosplay) item;
-                    HBox row = createFeaturedRow(cosplay, featured);
-                    setGraphic(row);
-                } else {
-                    setGraphic(null);
-                }
+
+    private void loadMoreRows() {
+        if (pageLoading || nextPage == null) return;
+        pageLoading = true;
+        int generation = loadGeneration;
+        pageSource.apply(nextPage).whenComplete((page, error) -> {
+            if (generation != loadGeneration) return;
+            pageLoading = false;
+            var items = cosplayListView.getItems();
+            if (error != null) {
+                // nextPage is kept, so the retry row fetches the same page again
+                int marker = items.indexOf(MORE_ROWS);
+                if (marker >= 0) items.set(marker, LOAD_FAILED);
+                return;
+            }
+            nextPage = page.next();
+            items.remove(MORE_ROWS);
+            items.addAll(page.items());
+            if (nextPage != null) {
+                items.add(MORE_ROWS);
             }
         });
-        
-        cosplayListView.setItems(FXCollections.observableArrayList(allCosplays));
-        cosplayListView.setStyle("-fx-background-color: transparent; -fx-border-color: transparent;");
     }
-    
-    private HBox createFeaturedRow(Cosplay cosplay, List<FeaturedItem> featured) {
-        HBox row = new HBox(20);
-        row.setAlignment(Pos.CENTER_LEFT);
-        row.setPadding(new Insets(15, 10, 15, 10));
-        row.setStyle("-fx-border-color: #e0e0e0; -fx-border-width: 0 0 1 0;");
-        
-        Label lblName = new Label(cosplay.getName());
-        lblName.setMinWidth(250);
-        lblName.setPrefWidth(250);
-        lblName.setMaxWidth(350);
-        lblName.setWrapText(true);
-        lblName.setStyle("-fx-font-size: 14px; -fx-font-weight: bold;");
-        
-        Label lblSeries = new Label(cosplay.getSeriesName() != null ? cosplay.getSeriesName() : "N/A");
-        lblSeries.setMinWidth(200);
-        lblSeries.setPrefWidth(200);
-        lblSeries.setMaxWidth(300);
-        lblSeries.setWrapText(true);
-        lblSeries.setStyle("-fx-font-size: 13px; -fx-text-fill: #666;");
-        
-        // Check which slots this cosplay is featured in
-        VBox slotsBox = new VBox(3);
-        slotsBox.setMinWidth(120);
-        boolean isFeatured = false;
-        StringBuilder slotText = new StringBuilder();
-        for (FeaturedItem fi : featured) {
-            if (fi.getCosplayId() != null && fi.getCosplayId() == cosplay.getId()) {
-                isFeatured = true;
-                if (slotText.length() > 0) slotText.append(", ");
-                slotText.append("Slot ").append(fi.getSlot());
+
+    /**
+     * A list row whose controls are built once and refilled each time the ListView
+     * recycles the cell for another record. Only the rows on screen exist, however
+     * long the list is. The marker row at the end shows a spinner and fetches the next page,
+     * or a retry button if that fetch failed.
+     */
+    private abstract class RecycledRowCell<T> extends ListCell<Object> {
+        private final Class<T> type;
+        private Node row;
+        private Node loadingRow;
+        private Node failedRow;
+
+        RecycledRowCell(Class<T> type) {
+            this.type = type;
+        }
+
+        /** Build the row's controls; called once per cell. */
+        protected abstract Node build();
+
+        /** Point the row's controls at {@code item}. */
+        protected abstract void fill(T item);
+
+        @Override
+        protected void updateItem(Object item, boolean empty) {
+            super.updateItem(item, empty);
+            if (empty || item == null) {
+                setGraphic(null);
+            } else if (item == MORE_ROWS) {
+                if (loadingRow == null) {
+                    ProgressIndicator spinner = new ProgressIndicator();
+                    spinner.setPrefSize(24, 24);
+                    HBox box = new HBox(10, spinner, new Label("Loading more..."));
+                    box.setAlignment(Pos.CENTER);
+                    box.setPadding(new Insets(15));
+                    loadingRow = box;
+                }
+                setGraphic(loadingRow);
+                loadMoreRows();
+            } else if (item == LOAD_FAILED) {
+                if (failedRow == null) {
+                    Button retry = new Button("Try again");
+                    // Putting the marker row back fetches the page again
+                    retry.setOnAction(e -> {
+                        var items = getListView().getItems();
+                        int marker = items.indexOf(LOAD_FAILED);
+                        if (marker >= 0) items.set(marker, MORE_ROWS);
+                    });
+                    HBox box = new HBox(10, new Label("Couldn't load more rows."), retry);
+                    box.setAlignment(Pos.CENTER);
+                    box.setPadding(new Insets(15));
+                    failedRow = box;
+                }
+                setGraphic(failedRow);
+            } else if (type.isInstance(item)) {
+                if (row == null) {
+                    row = build();
+                }
+                fill(type.cast(item));
+                setGraphic(row);
+            } else {
+                setGraphic(null);
             }
         }
-        
-        if (isFeatured) {
-            Label lblStatus = new Label("⭐ Featured");
-            lblStatus.setStyle("-fx-font-size: 12px; -fx-font-weight: bold; -fx-text-fill: #e6a84c;");
-            Label lblSlots = new Label(slotText.toString());
+    }
+
+    private static Label fixedLabel(double min, double pref, double max, String style) {
+        Label label = new Label();
+        label.setMinWidth(min);
+        if (pref > 0) label.setPrefWidth(pref);
+        label.setMaxWidth(max);
+        label.setStyle(style);
+        return label;
+    }
+
+    private class CosplayRowCell extends RecycledRowCell<Cosplay> {
+        private Label lblNo, lblCategory, lblSeries, lblCharacter;
+        private Button btnEdit, btnDelete;
+
+        CosplayRowCell() {
+            super(Cosplay.class);
+        }
+
+        @Override
+        protected Node build() {
+            HBox row = new HBox(20);
+            row.setAlignment(Pos.CENTER_LEFT);
+            row.setPadding(new Insets(15, 10, 15, 10));
+            row.setStyle("-fx-border-color: #e0e0e0; -fx-border-width: 0 0 1 0;");
+
+            lblNo = fixedLabel(50, 0, 50, "-fx-font-size: 14px;");
+            lblCategory = fixedLabel(150, 0, 150, "-fx-font-size: 14px;");
+            lblCategory.setWrapText(true);
+            lblSeries = fixedLabel(200, 200, 300, "-fx-font-size: 14px;");
+            lblSeries.setWrapText(true);
+            lblCharacter = fixedLabel(200, 200, 300, "-fx-font-size: 14px;");
+            lblCharacter.setWrapText(true);
+
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+
+            btnEdit = new Button("✏ Edit");
+            btnEdit.setStyle("-fx-background-color: #e6a84c; -fx-text-fill: white; -fx-background-radius: 15; -fx-cursor: hand; -fx-padding: 5 15;");
+            btnDelete = new Button("🗑 Delete");
+            btnDelete.setStyle("-fx-background-color: #e6a84c; -fx-text-fill: white; -fx-background-radius: 15; -fx-cursor: hand; -fx-padding: 5 15;");
+
+            row.getChildren().addAll(lblNo, lblCategory, lblSeries, lblCharacter, spacer, btnEdit, btnDelete);
+            return row;
+        }
+
+        @Override
+        protected void fill(Cosplay cosplay) {
+            lblNo.setText(String.valueOf(getIndex() + 1));
+            lblCategory.setText(cosplay.getCategory() != null ? cosplay.getCategory() : "N/A");
+            lblSeries.setText(cosplay.getSeriesName() != null ? cosplay.getSeriesName() : "N/A");
+            lblCharacter.setText(cosplay.getName());
+            btnEdit.setOnAction(e -> editCosplay(cosplay));
+            btnDelete.setOnAction(e -> deleteCosplay(cosplay));
+        }
+    }
+
+    private class RentalRowCell extends RecycledRowCell<Rental> {
+        private Label lblOrder, lblCosplay, lblCustomer, lblContact, lblDates, lblStatusValue, lblPaymentValue;
+        private Button btnView, btnUpdateStatus;
+
+        RentalRowCell() {
+            super(Rental.class);
+        }
+
+        @Override
+        protected Node build() {
+            HBox row = new HBox(20);
+            row.setAlignment(Pos.CENTER_LEFT);
+            row.setPadding(new Insets(15));
+            row.setStyle("-fx-border-color: #e0e0e0; -fx-border-width: 0 0 1 0; -fx-background-color: white;");
+
+            // Order Details column - consolidated (450px to match header)
+            VBox detailsBox = new VBox(5);
+            detailsBox.setMinWidth(450);
+            lblOrder = new Label();
+            lblOrder.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-text-fill: #e6a84c;");
+            lblCosplay = new Label();
+            lblCosplay.setStyle("-fx-font-size: 13px;");
+            lblCustomer = new Label();
+            lblCustomer.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
+            lblContact = new Label();
+            lblContact.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
+            lblDates = new Label();
+            lblDates.setStyle("-fx-font-size: 12px; -fx-text-fill: #666;");
+            detailsBox.getChildren().addAll(lblOrder, lblCosplay, lblCustomer, lblContact, lblDates);
+
+            // Status column (120px to match header)
+            VBox statusBox = new VBox(3);
+            statusBox.setAlignment(Pos.CENTER_LEFT);
+            statusBox.setMinWidth(120);
+            Label lblStatusLabel = new Label("Status:");
+            lblStatusLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #888;");
+            lblStatusValue = new Label();
+            statusBox.getChildren().addAll(lblStatusLabel, lblStatusValue);
+
+            // Payment column (120px to match header)
+            VBox paymentBox = new VBox(3);
+            paymentBox.setAlignment(Pos.CENTER_LEFT);
+            paymentBox.setMinWidth(120);
+            Label lblPaymentLabel = new Label("Payment:");
+            lblPaymentLabel.setStyle("-fx-font-size: 11px; -fx-text-fill: #888;");
+            lblPaymentValue = new Label();
+            lblPaymentValue.setStyle("-fx-font-size: 13px;");
+            paymentBox.getChildren().addAll(lblPaymentLabel, lblPaymentValue);
+
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+
+            VBox actionsBox = new VBox(5);
+            actionsBox.setAlignment(Pos.CENTER_RIGHT);
+            btnView = new Button("👁 View");
+            btnView.setStyle("-fx-background-color: #2196F3; -fx-text-fill: white; -fx-background-radius: 15; -fx-cursor: hand; -fx-padding: 5 15; -fx-font-size: 12px;");
+            btnUpdateStatus = new Button("✓ Update Status");
+            btnUpdateStatus.setStyle("-fx-background-color: #e6a84c; -fx-text-fill: white; -fx-background-radius: 15; -fx-cursor: hand; -fx-padding: 5 15; -fx-font-size: 12px;");
+            actionsBox.getChildren().addAll(btnView, btnUpdateStatus);
+
+            row.getChildren().addAll(detailsBox, statusBox, paymentBox, spacer, actionsBox);
+            return row;
+        }
+
+        @Override
+        protected void fill(Rental rental) {
+            // The cosplay's name comes joined onto the rental by the orders query
+            String cosplayName = rental.getCosplayName() != null ? rental.getCosplayName() : "Unknown";
+            lblOrder.setText("Order #" + rental.getId());
+            lblCosplay.setText("Cosplay: " + cosplayName);
+            lblCustomer.setText("Customer: " + rental.getCustomerName());
+            lblContact.setText("Contact: " + rental.getContactNumber());
+            lblDates.setText("Period: " + rental.getStartDate() + " to " + rental.getEndDate());
+
+            String status = rental.getStatus() != null ? rental.getStatus() : "Pending";
+            String statusColor = switch (status) {
+                case "Confirmed" -> "#4CAF50";
+                case "Rented" -> "#2196F3";
+                case "Returned" -> "#9E9E9E";
+                case "Cancelled" -> "#F44336";
+                default -> "#FF9800";
+            };
+            lblStatusValue.setText(status);
+            lblStatusValue.setStyle("-fx-font-weight: bold; -fx-font-size: 13px; -fx-text-fill: " + statusColor + ";");
+            lblPaymentValue.setText(rental.getPaymentMethod() != null ? rental.getPaymentMethod() : "N/A");
+
+            btnView.setOnAction(e -> viewRentalDetails(rental));
+            btnUpdateStatus.setOnAction(e -> updateRentalStatus(rental));
+        }
+    }
+
+    private void loadOrders() {
+        String search = searchField != null ? searchField.getText() : null;
+        // One query per page: each rental arrives with its cosplay's name and series
+        loadAsync(rentalDAO.getRentalsPageAsync(search, null, PAGE_SIZE),
+                page -> showPaged(page, after -> rentalDAO.getRentalsPageAsync(search, after, PAGE_SIZE), RentalRowCell::new));
+    }
+
+    private void loadFeatured() {
+        String search = searchField != null ? searchField.getText() : null;
+        CosplayCriteria criteria = CosplayCriteria.ALL.withText(search).withSort(CosplaySort.RELEVANCE);
+        loadAsync(DaoExecutor.supply(() -> new FeaturedData(featuredDAO.listAll(), cosplayDAO.search(criteria, null, PAGE_SIZE))),
+                data -> {
+                    featuredSlots = data.featured();
+                    showPaged(data.cosplays(), after -> cosplayDAO.searchAsync(criteria, after, PAGE_SIZE), FeaturedRowCell::new);
+                });
+    }
+
+    private class FeaturedRowCell extends RecycledRowCell<Cosplay> {
+        private Label lblName, lblSeries, lblStatus, lblSlots;
+        private final Button[] slotButtons = new Button[4];
+
+        FeaturedRowCell() {
+            super(Cosplay.class);
+        }
+
+        @Override
+        protected Node build() {
+            HBox row = new HBox(20);
+            row.setAlignment(Pos.CENTER_LEFT);
+            row.setPadding(new Insets(15, 10, 15, 10));
+            row.setStyle("-fx-border-color: #e0e0e0; -fx-border-width: 0 0 1 0;");
+
+            lblName = fixedLabel(250, 250, 350, "-fx-font-size: 14px; -fx-font-weight: bold;");
+            lblName.setWrapText(true);
+            lblSeries = fixedLabel(200, 200, 300, "-fx-font-size: 13px; -fx-text-fill: #666;");
+            lblSeries.setWrapText(true);
+
+            // Which slots this cosplay is featured in
+            VBox slotsBox = new VBox(3);
+            slotsBox.setMinWidth(120);
+            lblStatus = new Label();
+            lblSlots = new Label();
             lblSlots.setStyle("-fx-font-size: 11px; -fx-text-fill: #888;");
             slotsBox.getChildren().addAll(lblStatus, lblSlots);
-        } else {
-            Label lblStatus = new Label("Not Featured");
-            lblStatus.setStyle("-fx-font-size: 12px; -fx-text-fill: #999;");
-            slotsBox.getChildren().add(lblStatus);
+
+            Region spacer = new Region();
+            HBox.setHgrow(spacer, Priority.ALWAYS);
+
+            HBox buttonsBox = new HBox(10);
+            buttonsBox.setAlignment(Pos.CENTER_RIGHT);
+            for (int i = 0; i < slotButtons.length; i++) {
+                slotButtons[i] = new Button();
+                buttonsBox.getChildren().add(slotButtons[i]);
+            }
+
+            row.getChildren().addAll(lblName, lblSeries, slotsBox, spacer, buttonsBox);
+            return row;
         }
-        
-        Region spacer = new Region();
-        HBox.setHgrow(spacer, Priority.ALWAYS);
-        
-        HBox buttonsBox = new HBox(10);
-        buttonsBox.setAlignment(Pos.CENTER_RIGHT);
-        
-        // Add buttons to set featured in each slot
-        for (int slot = 1; slot <= 4; slot++) {
-            final int slotNum = slot;
-            boolean isInSlot = featured.stream()
-                .anyMatch(fi -> fi.getSlot() == slotNum && fi.getCosplayId() != null && fi.getCosplayId() == cosplay.getId());
-            
-            Button btnSlot = new Button(isInSlot ? "✓ Slot " + slot : "Set Slot " + slot);
-            btnSlot.setStyle(isInSlot 
-                ? "-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-background-radius: 15; -fx-cursor: hand; -fx-padding: 5 10; -fx-font-size: 11px;"
-                : "-fx-background-color: #e6a84c; -fx-text-fill: white; -fx-background-radius: 15; -fx-cursor: hand; -fx-padding: 5 10; -fx-font-size: 11px;");
-            
-            btnSlot.setOnAction(e -> {
-                if (isInSlot) {
-                    removeFeatured(slotNum);
-                } else {
-                    setFeatured(cosplay, slotNum);
+
+        @Override
+        protected void fill(Cosplay cosplay) {
+            lblName.setText(cosplay.getName());
+            lblSeries.setText(cosplay.getSeriesName() != null ? cosplay.getSeriesName() : "N/A");
+
+            StringBuilder slotText = new StringBuilder();
+            for (FeaturedItem fi : featuredSlots) {
+                if (fi.getCosplayId() != null && fi.getCosplayId() == cosplay.getId()) {
+                    if (slotText.length() > 0) slotText.append(", ");
+                    slotText.append("Slot ").append(fi.getSlot());
                 }
-            });
-            
-            buttonsBox.getChildren().add(btnSlot);
+            }
+            boolean isFeatured = slotText.length() > 0;
+            lblStatus.setText(isFeatured ? "⭐ Featured" : "Not Featured");
+            lblStatus.setStyle(isFeatured
+                ? "-fx-font-size: 12px; -fx-font-weight: bold; -fx-text-fill: #e6a84c;"
+                : "-fx-font-size: 12px; -fx-text-fill: #999;");
+            lblSlots.setText(slotText.toString());
+            lblSlots.setVisible(isFeatured);
+            lblSlots.setManaged(isFeatured);
+
+            // A button to set featured in each slot
+            for (int i = 0; i < slotButtons.length; i++) {
+                final int slotNum = i + 1;
+                boolean isInSlot = featuredSlots.stream()
+                    .anyMatch(fi -> fi.getSlot() == slotNum && fi.getCosplayId() != null && fi.getCosplayId() == cosplay.getId());
+                Button btnSlot = slotButtons[i];
+                btnSlot.setText(isInSlot ? "✓ Slot " + slotNum : "Set Slot " + slotNum);
+                btnSlot.setStyle(isInSlot
+                    ? "-fx-background-color: #4CAF50; -fx-text-fill: white; -fx-background-radius: 15; -fx-cursor: hand; -fx-padding: 5 10; -fx-font-size: 11px;"
+                    : "-fx-background-color: #e6a84c; -fx-text-fill: white; -fx-background-radius: 15; -fx-cursor: hand; -fx-padding: 5 10; -fx-font-size: 11px;");
+                btnSlot.setOnAction(e -> {
+                    if (isInSlot) {
+                        removeFeatured(slotNum);
+                    } else {
+                        setFeatured(cosplay, slotNum);
+                    }
+                });
+            }
         }
-        
-        row.getChildren().addAll(lblName, lblSeries, slotsBox, spacer, buttonsBox);
-        return row;
     }
     
     private void setFeatured(Cosplay cosplay, int slot) {
@@ -876,12 +961,11 @@ public class AdminController {
         card.setPadding(new Insets(30));
         card.setStyle("-fx-background-color: white; -fx-background-radius: 0;");
         
-        // Get cosplay details
+        // Cosplay details, joined onto the rental by the orders query
         String cosplayDetails = "Cosplay ID: " + rental.getCosplayId();
-        var cosplayOpt = cosplayDAO.findById(rental.getCosplayId());
-        if (cosplayOpt.isPresent()) {
-            Cosplay c = cosplayOpt.get();
-            cosplayDetails = c.getName() + (c.getSeriesName() != null ? " (" + c.getSeriesName() + ")" : "");
+        if (rental.getCosplayName() != null) {
+            cosplayDetails = rental.getCosplayName()
+                    + (rental.getCosplaySeriesName() != null ? " (" + rental.getCosplaySeriesName() + ")" : "");
         }
         
         // Cosplay Information Section
@@ -1106,7 +1190,10 @@ public class AdminController {
     // ===========================
     
     private void loadEventBanners() {
-        List<EventBanner> banners = eventBannerDAO.getAll();
+        loadAsync(eventBannerDAO.getAllAsync(), this::renderEventBanners);
+    }
+
+    private void renderEventBanners(List<EventBanner> banners) {
         
         cosplayListView.setVisible(true);
         cosplayListView.setItems(null);
@@ -3,20 +3,31 @@ package com.cosplay.ui.controllers;
 import java.io.File;
 import java.time.LocalDate;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
 
+import com.cosplay.dao.CatalogFacets;
+import com.cosplay.dao.CosplayCriteria;
 import com.cosplay.dao.CosplayDAO;
+import com.cosplay.dao.CosplaySort;
+import com.cosplay.dao.Page;
 import com.cosplay.dao.RentalDAO;
 import com.cosplay.model.Cosplay;
 import com.cosplay.model.Rental;
+import com.cosplay.ui.CardGrid;
 import com.cosplay.ui.SceneNavigator;
 import com.cosplay.ui.Views;
 import com.cosplay.util.Session;
-import com.cosplay.util.ImageCache;
+import com.cosplay.util.ImageLoader;
+import com.cosplay.util.PerformanceConfig;
 import com.cosplay.util.AnimationUtil;
 
 import javafx.fxml.FXML;
 import javafx.geometry.Insets;
 import javafx.geometry.Pos;
+import javafx.scene.Node;
 import javafx.scene.Scene;
 import javafx.scene.control.Alert;
 import javafx.scene.control.Button;
@@ -30,29 +41,37 @@ import javafx.scene.control.TextArea;
 import javafx.scene.control.TextField;
 import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
-import javafx.scene.layout.FlowPane;
 import javafx.scene.layout.GridPane;
 import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.layout.VBox;
 import javafx.stage.Stage;
-import javafx.application.Platform;
-import javafx.concurrent.Task;
 
 public class CatalogController {
     // Included NavBar controller (from fx:include with fx:id="navBar")
     @FXML private NavController navBarController;
-    @FXML private FlowPane cosplayGrid;
+    @FXML private CardGrid<Cosplay> cosplayGrid;
     @FXML private ComboBox<String> categoryComboBox;
     @FXML private ComboBox<String> sortByComboBox;
+    @FXML private DatePicker freeFromPicker;
+    @FXML private DatePicker freeToPicker;
     @FXML private TextField searchField;
     
     private final CosplayDAO cosplayDAO = new CosplayDAO();
     private final RentalDAO rentalDAO = new RentalDAO();
-    private java.util.List<Cosplay> allCosplays;
-    private java.util.List<Cosplay> filteredCosplays;
-    private static final int ITEMS_PER_PAGE = com.cosplay.util.PerformanceConfig.CATALOG_ITEMS_PER_PAGE;
-    private int currentlyLoaded = 0;
+    private static final int ITEMS_PER_PAGE = PerformanceConfig.CATALOG_ITEMS_PER_PAGE;
+    private static final String SERIES_PREFIX = "  ▸ ";
+    private static final String COUNT_OPEN = " (";
+    private static final double CARD_WIDTH = 200;
+    // Filters, sort and paging all run in the database
+    private CosplayCriteria criteria = CosplayCriteria.ALL;
+    private Page.Cursor nextPage;
+    private boolean pageLoading;
+    // Bumped whenever the filters change so a slow, older page is dropped
+    private int loadGeneration = 0;
+    // Images of the last few pages fetched, decoded after the visible ones; oldest page first
+    private static final int PREFETCH_PAGES = 2;
+    private final Deque<List<ImageLoader.Request>> prefetches = new ArrayDeque<>();
 
     @FXML
     private void initialize() {
@@ -60,283 +79,304 @@ public class CatalogController {
             navBarController.setActive(Views.CATALOG);
         }
         
-        // Initialize dropdowns
-        setupCategoryComboBox();
+        // Initialize dropdowns; the series under each category are filled in once they have loaded
+        categoryComboBox.getItems().add("All Categories");
+        categoryComboBox.setValue("All Categories");
+        categoryComboBox.setOnAction(e -> filterAndSortCosplays());
         setupSortByComboBox();
+        cosplayDAO.getFacetsAsync().thenAccept(this::setupCategoryComboBox);
+        
+        // Only show costumes free for the whole date range
+        if (freeFromPicker != null && freeToPicker != null) {
+            freeFromPicker.valueProperty().addListener((obs, oldVal, newVal) -> filterAndSortCosplays());
+            freeToPicker.valueProperty().addListener((obs, oldVal, newVal) -> filterAndSortCosplays());
+        }
         
         // Setup search field listener
         if (searchField != null) {
             searchField.textProperty().addListener((obs, oldVal, newVal) -> filterAndSortCosplays());
         }
         
-        loadCosplays();
+        // Only the cards on screen exist; fetch the next page as the last rows scroll into view
+        cosplayGrid.setCardWidth(CARD_WIDTH);
+        cosplayGrid.setCardFactory(CosplayCard::new);
+        cosplayGrid.setOnNearEnd(this::loadMoreCosplays);
+        cosplayGrid.sceneProperty().addListener((obs, oldScene, scene) -> {
+            if (scene != null) {
+                scene.windowProperty().addListener((o, oldWindow, window) -> {
+                    if (window == null) leaveCatalog();
+                });
+            }
+        });
+        
+        filterAndSortCosplays();
     }
     
-    private void setupCategoryComboBox() {
-        categoryComboBox.getItems().add("All Categories");
-        
-        // Add subcategories (series) grouped by main category
-        var cosplays = cosplayDAO.getAll();
-        java.util.Set<String> animeSeriesSet = new java.util.LinkedHashSet<>();
-        java.util.Set<String> gameSeriesSet = new java.util.LinkedHashSet<>();
-        
-        for (Cosplay cosplay : cosplays) {
-            if (cosplay.getSeriesName() != null && !cosplay.getSeriesName().isBlank()) {
-                String mainCategory = cosplay.getCategory();
-                if ("Anime".equalsIgnoreCase(mainCategory)) {
-                    animeSeriesSet.add("  ▸ " + cosplay.getSeriesName());
-                } else if ("Game".equalsIgnoreCase(mainCategory)) {
-                    gameSeriesSet.add("  ▸ " + cosplay.getSeriesName());
-                }
+    // Category and series entries carry their counts, which the filter strips off again
+    private void setupCategoryComboBox(List<CatalogFacets.CategoryFacet> facets) {
+        for (CatalogFacets.CategoryFacet category : facets) {
+            categoryComboBox.getItems().add(category.category() + COUNT_OPEN + category.count() + ")");
+            for (CatalogFacets.SeriesFacet series : category.series()) {
+                categoryComboBox.getItems().add(SERIES_PREFIX + series.series() + COUNT_OPEN + series.count() + ")");
             }
         }
-        
-        // Add Anime category and its subcategories
-        categoryComboBox.getItems().add("Anime");
-        for (String series : animeSeriesSet) {
-            categoryComboBox.getItems().add(series);
-        }
-        
-        // Add Game category and its subcategories
-        categoryComboBox.getItems().add("Game");
-        for (String series : gameSeriesSet) {
-            categoryComboBox.getItems().add(series);
-        }
-        
-        categoryComboBox.setValue("All Categories");
-        categoryComboBox.setOnAction(e -> filterAndSortCosplays());
     }
     
     private void setupSortByComboBox() {
-        sortByComboBox.getItems().addAll("Default", "Name (A-Z)", "Name (Z-A)", "Price (Low to High)", "Price (High to Low)");
-        sortByComboBox.setValue("Default");
+        for (CosplaySort option : CosplaySort.values()) {
+            if (option != CosplaySort.RELEVANCE) { // implied by "Default" while searching
+                sortByComboBox.getItems().add(option.label());
+            }
+        }
+        sortByComboBox.setValue(CosplaySort.DEFAULT.label());
         sortByComboBox.setOnAction(e -> filterAndSortCosplays());
     }
     
-    private void loadCosplays() {
-        allCosplays = cosplayDAO.getAll();
-        filterAndSortCosplays();
+    // Shown in the grid while the catalog loads in the background
+    private void showLoadingPlaceholder() {
+        ProgressIndicator spinner = new ProgressIndicator();
+        spinner.setPrefSize(40, 40);
+        Label label = new Label("Loading costumes...");
+        label.setStyle("-fx-text-fill: #999; -fx-font-size: 14px;");
+        VBox placeholder = new VBox(10, spinner, label);
+        placeholder.setAlignment(Pos.CENTER);
+        placeholder.setPadding(new Insets(40));
+        cosplayGrid.setPlaceholder(placeholder);
     }
     
-    private void filterAndSortCosplays() {
-        cosplayGrid.getChildren().clear();
-        currentlyLoaded = 0;
-        
-        // Start with all cosplays
-        filteredCosplays = new java.util.ArrayList<>(allCosplays);
-        
-        // Apply search filter
+    private void showEmptyPlaceholder() {
+        Label label = new Label("No costumes found.");
+        label.setStyle("-fx-text-fill: #999; -fx-font-size: 14px;");
+        cosplayGrid.setPlaceholder(label);
+    }
+    
+    private void showErrorPlaceholder() {
+        Label label = new Label("Couldn't load costumes.");
+        label.setStyle("-fx-text-fill: #999; -fx-font-size: 14px;");
+        Button retry = new Button("Try again");
+        retry.setOnAction(e -> filterAndSortCosplays());
+        VBox placeholder = new VBox(10, label, retry);
+        placeholder.setAlignment(Pos.CENTER);
+        placeholder.setPadding(new Insets(40));
+        cosplayGrid.setPlaceholder(placeholder);
+    }
+    
+    // The search box and dropdowns as one database query
+    private CosplayCriteria currentCriteria() {
         String searchText = searchField != null ? searchField.getText() : null;
-        if (searchText != null && !searchText.trim().isEmpty()) {
-            String search = searchText.trim().toLowerCase();
-            filteredCosplays = filteredCosplays.stream()
-                .filter(c -> c.getName().toLowerCase().contains(search) ||
-                           (c.getSeriesName() != null && c.getSeriesName().toLowerCase().contains(search)) ||
-                           (c.getCategory() != null && c.getCategory().toLowerCase().contains(search)))
-                .collect(java.util.stream.Collectors.toList());
+        CosplaySort sort = CosplaySort.fromLabel(sortByComboBox.getValue());
+        if (sort == CosplaySort.DEFAULT && searchText != null && !searchText.isBlank()) {
+            sort = CosplaySort.RELEVANCE; // best matches first
+        }
+        CosplayCriteria criteria = CosplayCriteria.ALL.withText(searchText).withSort(sort);
+        if (freeFromPicker != null && freeToPicker != null) {
+            criteria = criteria.withFreeBetween(freeFromPicker.getValue(), freeToPicker.getValue());
         }
-        
-        // Filter by category
         String selectedCategory = categoryComboBox.getValue();
-        if (selectedCategory != null && !selectedCategory.equals("All Categories")) {
-            if (selectedCategory.equals("Anime")) {
-                filteredCosplays = filteredCosplays.stream()
-                    .filter(c -> "Anime".equalsIgnoreCase(c.getCategory()))
-                    .collect(java.util.stream.Collectors.toList());
-            } else if (selectedCategory.equals("Game")) {
-                filteredCosplays = filteredCosplays.stream()
-                    .filter(c -> "Game".equalsIgnoreCase(c.getCategory()))
-                    .collect(java.util.stream.Collectors.toList());
-            } else if (selectedCategory.startsWith("  ▸ ")) {
-                // Subcategory (series name)
-                String seriesName = selectedCategory.substring(4); // Remove "  ▸ "
-                filteredCosplays = filteredCosplays.stream()
-                    .filter(c -> seriesName.equals(c.getSeriesName()))
-                    .collect(java.util.stream.Collectors.toList());
-            }
+        if (selectedCategory == null || selectedCategory.equals("All Categories")) {
+            return criteria;
         }
-        
-        // Sort
-        String sortBy = sortByComboBox.getValue();
-        if (sortBy != null) {
-            switch (sortBy) {
-                case "Name (A-Z)":
-                    filteredCosplays.sort((a, b) -> a.getName().compareToIgnoreCase(b.getName()));
-                    break;
-                case "Name (Z-A)":
-                    filteredCosplays.sort((a, b) -> b.getName().compareToIgnoreCase(a.getName()));
-                    break;
-                case "Price (Low to High)":
-                    filteredCosplays.sort((a, b) -> {
-                        Double priceA = a.getRentRate1Day() != null ? a.getRentRate1Day() : Double.MAX_VALUE;
-                        Double priceB = b.getRentRate1Day() != null ? b.getRentRate1Day() : Double.MAX_VALUE;
-                        return priceA.compareTo(priceB);
-                    });
-                    break;
-                case "Price (High to Low)":
-                    filteredCosplays.sort((a, b) -> {
-                        Double priceA = a.getRentRate1Day() != null ? a.getRentRate1Day() : 0.0;
-                        Double priceB = b.getRentRate1Day() != null ? b.getRentRate1Day() : 0.0;
-                        return priceB.compareTo(priceA);
-                    });
-                    break;
-            }
+        int countStart = selectedCategory.lastIndexOf(COUNT_OPEN);
+        String name = countStart >= 0 ? selectedCategory.substring(0, countStart) : selectedCategory;
+        if (name.startsWith(SERIES_PREFIX)) {
+            // Subcategory (series name)
+            return criteria.withSeries(name.substring(SERIES_PREFIX.length()));
         }
-        
-        // Load first batch
-        loadMoreCosplays();
+        return criteria.withCategory(name);
+    }
+    
+    private void filterAndSortCosplays() {
+        int generation = ++loadGeneration;
+        criteria = currentCriteria();
+        nextPage = null;
+        // The old results' images are no longer wanted; don't let them hold up the new ones
+        cancelPrefetches();
+        showLoadingPlaceholder();
+        cosplayGrid.getItems().clear();
+        cosplayGrid.scrollToTop();
+        fetchNextPage(generation);
     }
     
     private void loadMoreCosplays() {
-        int toLoad = Math.min(ITEMS_PER_PAGE, filteredCosplays.size() - currentlyLoaded);
-        
-        for (int i = currentlyLoaded; i < currentlyLoaded + toLoad; i++) {
-            VBox card = createCosplayCard(filteredCosplays.get(i));
-            cosplayGrid.getChildren().add(card);
-            // Stagger the card animations based on their index
-            int relativeIndex = i - currentlyLoaded;
-            AnimationUtil.fadeInScaleDelayed(card, 300, relativeIndex * 50);
-        }
-        
-        currentlyLoaded += toLoad;
-        
-        // Add "Load More" button if there are more items
-        if (currentlyLoaded < filteredCosplays.size()) {
-            Button loadMoreBtn = new Button("Load More (" + (filteredCosplays.size() - currentlyLoaded) + " remaining)");
-            loadMoreBtn.setStyle("-fx-background-color: #f79e6b; -fx-text-fill: white; -fx-font-weight: bold; -fx-padding: 15 30; -fx-background-radius: 10; -fx-cursor: hand; -fx-font-size: 14px;");
-            loadMoreBtn.setOnAction(e -> {
-                cosplayGrid.getChildren().remove(loadMoreBtn);
-                loadMoreCosplays();
-            });
-            
-            // Center the button
-            VBox buttonContainer = new VBox(loadMoreBtn);
-            buttonContainer.setAlignment(Pos.CENTER);
-            buttonContainer.setPrefWidth(200);
-            cosplayGrid.getChildren().add(buttonContainer);
+        if (nextPage != null && !pageLoading) {
+            fetchNextPage(loadGeneration);
         }
     }
     
-    private void loadCosplaysOld() {
-        cosplayGrid.getChildren().clear();
-        var cosplays = cosplayDAO.getAll();
-        
+    private void fetchNextPage(int generation) {
+        pageLoading = true;
+        cosplayDAO.searchAsync(criteria, nextPage, ITEMS_PER_PAGE).whenComplete((page, error) -> {
+            if (generation != loadGeneration) return;
+            pageLoading = false;
+            if (error != null) {
+                // nextPage is kept, so the next scroll to the end tries this page again
+                if (cosplayGrid.getItems().isEmpty()) showErrorPlaceholder();
+                return;
+            }
+            nextPage = page.next();
+            if (page.items().isEmpty() && cosplayGrid.getItems().isEmpty()) {
+                showEmptyPlaceholder();
+            }
+            prefetch(page.items());
+            // The grid binds cards to the new items as they scroll into view
+            cosplayGrid.getItems().addAll(page.items());
+        });
+    }
+    
+    // Queue the page's images behind the visible ones, keeping at most PREFETCH_PAGES pages pending
+    private void prefetch(List<Cosplay> cosplays) {
+        prefetches.forEach(page -> page.removeIf(ImageLoader.Request::isDone));
+        prefetches.removeIf(List::isEmpty);
+        List<ImageLoader.Request> page = new ArrayList<>();
         for (Cosplay cosplay : cosplays) {
-            VBox card = createCosplayCard(cosplay);
-            cosplayGrid.getChildren().add(card);
+            if (cosplay.getImagePath() != null && !cosplay.getImagePath().isBlank()) {
+                page.add(ImageLoader.prefetch(cosplay.getImagePath(),
+                        PerformanceConfig.CATALOG_IMAGE_WIDTH, PerformanceConfig.CATALOG_IMAGE_HEIGHT));
+            }
+        }
+        prefetches.addLast(page);
+        while (prefetches.size() > PREFETCH_PAGES) {
+            prefetches.removeFirst().forEach(ImageLoader.Request::cancel);
         }
     }
     
-    private VBox createCosplayCard(Cosplay cosplay) {
-        VBox card = new VBox(0);
-        card.setAlignment(Pos.TOP_CENTER);
-        card.setStyle("-fx-background-color: transparent; -fx-cursor: hand;");
-        card.setPrefWidth(200);
-        card.setMaxWidth(200);
-        
-        // Make the entire card clickable to view details
-        card.setOnMouseClicked(e -> {
-            CosplayDetailsController.setSelectedCosplay(cosplay);
-            SceneNavigator.navigate(Views.COSPLAY_DETAILS);
-        });
-        
-        // Add hover animation
-        AnimationUtil.addCardHoverEffect(card);
-        
-        // Title label at the top with rounded top corners
-        Label nameLabel = new Label(cosplay.getName());
-        nameLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-background-color: #f79e6b; -fx-padding: 10 15; -fx-background-radius: 15 15 0 0; -fx-text-fill: #333;");
-        nameLabel.setWrapText(true);
-        nameLabel.setMaxWidth(200);
-        nameLabel.setAlignment(Pos.CENTER);
-        nameLabel.setPrefWidth(200);
-        card.getChildren().add(nameLabel);
-        
-        // Image container with rounded bottom corners and border
-        StackPane imageContainer = new StackPane();
-        imageContainer.setPrefSize(200, 260);
-        imageContainer.setMaxSize(200, 260);
-        imageContainer.setStyle("-fx-background-color: white; -fx-background-radius: 0 0 15 15; -fx-border-color: #f79e6b; -fx-border-width: 3; -fx-border-radius: 0 0 15 15; -fx-effect: dropshadow(gaussian, rgba(247, 158, 107, 0.5), 10, 0.5, 0, 0);");
-        
-        // Image
-        ImageView imageView = new ImageView();
-        imageView.setFitWidth(194);
-        imageView.setFitHeight(254);
-        imageView.setPreserveRatio(false); // Fill the container completely
-        imageView.setSmooth(true); // Enable smooth scaling for high quality
-        
-        // Clip for rounded corners
-        javafx.scene.shape.Rectangle clip = new javafx.scene.shape.Rectangle(194, 254);
-        clip.setArcWidth(0);
-        clip.setArcHeight(0);
-        imageView.setClip(clip);
-        
-        // Loading indicator
-        ProgressIndicator loadingIndicator = new ProgressIndicator();
-        loadingIndicator.setMaxSize(40, 40);
-        loadingIndicator.setStyle("-fx-progress-color: #f79e6b;");
-        imageContainer.getChildren().add(loadingIndicator);
-        
-        // Load image asynchronously if path exists
-        if (cosplay.getImagePath() != null && !cosplay.getImagePath().isBlank()) {
-            String imagePath = cosplay.getImagePath();
-            
-            // Create background task to load image
-            Task<Image> loadImageTask = new Task<Image>() {
-                @Override
-                protected Image call() throws Exception {
-                    // Load image in background thread with caching
-                    return ImageCache.getImageScaled(imagePath, 194, 254, true);
-                }
-            };
+    private void cancelPrefetches() {
+        prefetches.forEach(page -> page.forEach(ImageLoader.Request::cancel));
+        prefetches.clear();
+    }
+    
+    // Navigating away swaps the window's scene; stop paging and drop every pending image
+    private void leaveCatalog() {
+        loadGeneration++;
+        pageLoading = false;
+        nextPage = null;
+        cancelPrefetches();
+        cosplayGrid.unbindAll();
+    }
+    
+    /**
+     * A catalog card, built once and rebound as the grid scrolls. Hover effects, clip and
+     * shadow belong to the card, not to the cosplay it shows.
+     */
+    private class CosplayCard implements CardGrid.Card<Cosplay> {
+        private final VBox card = new VBox(0);
+        private final Label nameLabel = new Label();
+        private final StackPane imageContainer = new StackPane();
+        private final ImageView imageView = new ImageView();
+        private final ProgressIndicator loadingIndicator = new ProgressIndicator();
+        private final Label placeholderText = new Label("No Image");
+        private Cosplay cosplay;
+        private ImageLoader.Request imageRequest;
+        private boolean binding;
+        
+        CosplayCard() {
+            card.setAlignment(Pos.TOP_CENTER);
+            card.setStyle("-fx-background-color: transparent; -fx-cursor: hand;");
+            card.setPrefWidth(CARD_WIDTH);
+            card.setMaxWidth(CARD_WIDTH);
             
-            // Handle success
-            loadImageTask.setOnSucceeded(event -> {
-                Image image = loadImageTask.getValue();
-                if (image != null && !image.isError()) {
-                    imageView.setImage(image);
-                    imageContainer.getChildren().clear();
-                    imageContainer.getChildren().add(imageView);
-                    
-                    // Fade in effect
-                    imageView.setOpacity(0);
-                    javafx.animation.FadeTransition fade = new javafx.animation.FadeTransition(javafx.util.Duration.millis(300), imageView);
-                    fade.setFromValue(0);
-                    fade.setToValue(1);
-                    fade.play();
-                } else {
-                    // Show placeholder on error
-                    showImagePlaceholder(imageContainer);
+            // Make the entire card clickable to view details
+            card.setOnMouseClicked(e -> {
+                if (cosplay != null) {
+                    CosplayDetailsController.setSelectedCosplay(cosplay);
+                    SceneNavigator.navigate(Views.COSPLAY_DETAILS);
                 }
             });
             
-            // Handle failure
-            loadImageTask.setOnFailed(event -> {
-                System.err.println("Failed to load image for " + cosplay.getName() + ": " + loadImageTask.getException().getMessage());
-                showImagePlaceholder(imageContainer);
-            });
+            // Add hover animation
+            AnimationUtil.addCardHoverEffect(card);
             
-            // Start the task in background thread
-            Thread loadThread = new Thread(loadImageTask);
-            loadThread.setDaemon(true);
-            loadThread.start();
-        } else {
-            // No image path, show placeholder immediately
-            showImagePlaceholder(imageContainer);
+            // Title label at the top with rounded top corners
+            nameLabel.setStyle("-fx-font-weight: bold; -fx-font-size: 14px; -fx-background-color: #f79e6b; -fx-padding: 10 15; -fx-background-radius: 15 15 0 0; -fx-text-fill: #333;");
+            nameLabel.setWrapText(true);
+            nameLabel.setMaxWidth(CARD_WIDTH);
+            nameLabel.setAlignment(Pos.CENTER);
+            nameLabel.setPrefWidth(CARD_WIDTH);
+            
+            // Image container with rounded bottom corners and border
+            imageContainer.setPrefSize(200, 260);
+            imageContainer.setMaxSize(200, 260);
+            imageContainer.setStyle("-fx-background-color: white; -fx-background-radius: 0 0 15 15; -fx-border-color: #f79e6b; -fx-border-width: 3; -fx-border-radius: 0 0 15 15; -fx-effect: dropshadow(gaussian, rgba(247, 158, 107, 0.5), 10, 0.5, 0, 0);");
+            
+            // Image
+            imageView.setFitWidth(194);
+            imageView.setFitHeight(254);
+            imageView.setPreserveRatio(false); // Fill the container completely
+            imageView.setSmooth(true); // Enable smooth scaling for high quality
+            
+            // Clip for rounded corners
+            javafx.scene.shape.Rectangle clip = new javafx.scene.shape.Rectangle(194, 254);
+            clip.setArcWidth(0);
+            clip.setArcHeight(0);
+            imageView.setClip(clip);
+            
+            // Loading indicator
+            loadingIndicator.setMaxSize(40, 40);
+            loadingIndicator.setStyle("-fx-progress-color: #f79e6b;");
+            
+            placeholderText.setStyle("-fx-text-fill: #999; -fx-font-size: 12px;");
+            
+            card.getChildren().addAll(nameLabel, imageContainer);
         }
         
-        card.getChildren().add(imageContainer);
+        @Override
+        public Node getNode() {
+            return card;
+        }
         
-        return card;
-    }
-    
-    private void showImagePlaceholder(StackPane container) {
-        Platform.runLater(() -> {
-            container.getChildren().clear();
-            Label placeholderText = new Label("No Image");
-            placeholderText.setStyle("-fx-text-fill: #999; -fx-font-size: 12px;");
-            container.getChildren().add(placeholderText);
-        });
+        @Override
+        public void bind(Cosplay cosplay) {
+            this.cosplay = cosplay;
+            nameLabel.setText(cosplay.getName());
+            // A recycled card may still be mid-hover from the item it showed before
+            card.setScaleX(1.0);
+            card.setScaleY(1.0);
+            card.setTranslateY(0);
+            
+            // Load image asynchronously if path exists
+            if (cosplay.getImagePath() == null || cosplay.getImagePath().isBlank()) {
+                imageContainer.getChildren().setAll(placeholderText);
+                return;
+            }
+            imageContainer.getChildren().setAll(loadingIndicator);
+            // Queued behind nothing but other on-screen cards; a cached image comes straight back
+            binding = true;
+            imageRequest = ImageLoader.load(cosplay.getImagePath(),
+                    PerformanceConfig.CATALOG_IMAGE_WIDTH, PerformanceConfig.CATALOG_IMAGE_HEIGHT,
+                    ImageLoader.Priority.VISIBLE, this::showImage);
+            binding = false;
+        }
+        
+        private void showImage(Image image) {
+            if (image == null || image.isError()) {
+                // Show placeholder on error
+                imageContainer.getChildren().setAll(placeholderText);
+                return;
+            }
+            imageView.setImage(image);
+            imageContainer.getChildren().setAll(imageView);
+            if (!binding) {
+                // Fade in effect, for images that weren't already cached
+                imageView.setOpacity(0);
+                javafx.animation.FadeTransition fade = new javafx.animation.FadeTransition(javafx.util.Duration.millis(300), imageView);
+                fade.setFromValue(0);
+                fade.setToValue(1);
+                fade.play();
+            } else {
+                imageView.setOpacity(1);
+            }
+        }
+        
+        @Override
+        public void unbind() {
+            // Scrolled away before its image arrived: drop it from the loader's queue
+            if (imageRequest != null) {
+                imageRequest.cancel();
+                imageRequest = null;
+            }
+            imageView.setImage(null);
+            cosplay = null;
+        }
     }
     
     private void showRentalDialog(Cosplay cosplay) {
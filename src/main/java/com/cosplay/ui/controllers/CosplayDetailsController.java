@@ -24,8 +24,6 @@ import java.time.LocalDate;
 import java.time.YearMonth;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
-import java.util.HashSet;
-import java.util.Set;
 
 public class CosplayDetailsController {
     @FXML private NavController navBarController;
@@ -56,7 +54,6 @@ public class CosplayDetailsController {
     private final RentalDAO rentalDAO = new RentalDAO();
     private static Cosplay selectedCosplay;
     private YearMonth currentMonth;
-    private Set<LocalDate> bookedDates;
     private int currentImageIndex = 0;
     private List<String> cosplayImages = new java.util.ArrayList<>();
     // No baseline cache; we compute natural preferred size each time to avoid drift
@@ -102,7 +99,6 @@ public class CosplayDetailsController {
         
         if (selectedCosplay != null) {
             loadCosplayDetails(selectedCosplay);
-            loadBookedDates();
             updateCalendar();
         }
 
@@ -141,19 +137,6 @@ public class CosplayDetailsController {
         }
     }
     
-    private void loadBookedDates() {
-        bookedDates = new HashSet<>();
-        List<Rental> rentals = rentalDAO.getRentalsByCosplayId(selectedCosplay.getId());
-        
-        for (Rental rental : rentals) {
-            LocalDate date = rental.getStartDate();
-            while (!date.isAfter(rental.getEndDate())) {
-                bookedDates.add(date);
-                date = date.plusDays(1);
-            }
-        }
-    }
-    
     @FXML
     private void handlePrevMonth() {
         currentMonth = currentMonth.minusMonths(1);
@@ -191,8 +174,9 @@ public class CosplayDetailsController {
         LocalDate firstDay = currentMonth.atDay(1);
         int startDayOfWeek = firstDay.getDayOfWeek().getValue() % 7; // Sunday = 0
         
-        // Fill calendar
+        // Fill calendar; bit (day - 1) is set for each booked day
         int daysInMonth = currentMonth.lengthOfMonth();
+        long bookedDays = rentalDAO.getBookedDays(selectedCosplay.getId(), currentMonth);
         int row = 1;
         int col = startDayOfWeek;
         
@@ -206,7 +190,7 @@ public class CosplayDetailsController {
             
             // Style based on availability
             boolean isPast = date.isBefore(LocalDate.now());
-            boolean isBooked = bookedDates.contains(date);
+            boolean isBooked = (bookedDays & (1L << (day - 1))) != 0;
             boolean isToday = date.equals(LocalDate.now());
             
             if (isPast) {
@@ -681,6 +665,7 @@ public class CosplayDetailsController {
                     "Status: Pending\n\n" +
                     "We will contact you shortly for confirmation.");
                 dialog.close();
+                updateCalendar(); // show the new booking
             } else {
                 showAlert(Alert.AlertType.ERROR, "Error", "Failed to create rental. The cosplay might have been booked by someone else.");
             }
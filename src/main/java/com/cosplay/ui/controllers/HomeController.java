@@ -13,8 +13,10 @@ import com.cosplay.dao.FeaturedDAO;
 import com.cosplay.dao.EventBannerDAO;
 import com.cosplay.model.FeaturedItem;
 import com.cosplay.dao.CosplayDAO;
+import com.cosplay.dao.DaoExecutor;
 import com.cosplay.model.Cosplay;
 import com.cosplay.util.ImageCache;
+import com.cosplay.util.PerformanceConfig;
 import com.cosplay.util.AnimationUtil;
 
 public class HomeController {
@@ -40,6 +42,7 @@ public class HomeController {
     @FXML private Label emptyFeaturedLabel;
     
     private FeaturedItem[] featuredItems = new FeaturedItem[4];
+    private Cosplay[] featuredCosplays = new Cosplay[4];
     private StackPane[] imageContainers = new StackPane[4];
 
     @FXML
@@ -79,19 +82,21 @@ public class HomeController {
     }
     
     private void openFeaturedCosplay(int index) {
-        FeaturedItem item = featuredItems[index];
-        if (item == null || item.getCosplayId() == null) return;
+        // Linked cosplays were loaded together with the featured slots
+        Cosplay cosplay = featuredCosplays[index];
+        if (cosplay == null) return;
         
-        CosplayDAO dao = new CosplayDAO();
-        dao.findById(item.getCosplayId()).ifPresent(cosplay -> {
-            CosplayDetailsController.setSelectedCosplay(cosplay);
-            SceneNavigator.navigate(Views.COSPLAY_DETAILS);
-        });
+        CosplayDetailsController.setSelectedCosplay(cosplay);
+        SceneNavigator.navigate(Views.COSPLAY_DETAILS);
     }
 
     private void loadHeroBanner() {
+        // Keep the banner hidden until we know whether there is an active one
+        heroBanner.setVisible(false);
+        heroBanner.setManaged(false);
+        
         EventBannerDAO bannerDAO = new EventBannerDAO();
-        bannerDAO.getActiveBanner().ifPresentOrElse(
+        bannerDAO.getActiveBannerAsync().thenAccept(activeBanner -> activeBanner.ifPresentOrElse(
             banner -> {
                 // Set the banner title
                 heroBannerTitle.setText(banner.getTitle());
@@ -129,7 +134,7 @@ public class HomeController {
                 heroBanner.setVisible(false);
                 heroBanner.setManaged(false);
             }
-        );
+        ));
     }
     
     private void showEventDetails(com.cosplay.model.EventBanner banner) {
@@ -218,10 +223,33 @@ public class HomeController {
 
     private void loadFeaturedImages() {
         var dao = new FeaturedDAO();
-        featuredItems[0] = dao.get(1);
-        featuredItems[1] = dao.get(2);
-        featuredItems[2] = dao.get(3);
-        featuredItems[3] = dao.get(4);
+        var cosplayDAO = new CosplayDAO();
+        // One background call for the four slots and the cosplays they link to
+        DaoExecutor.supply(() -> {
+            FeaturedItem[] items = new FeaturedItem[4];
+            java.util.List<Integer> ids = new java.util.ArrayList<>();
+            for (FeaturedItem item : dao.listAll()) {
+                int i = item.getSlot() - 1;
+                if (i < 0 || i >= items.length) continue;
+                items[i] = item;
+                if (item.getCosplayId() != null) ids.add(item.getCosplayId());
+            }
+            var found = cosplayDAO.findByIds(ids);
+            Cosplay[] cosplays = new Cosplay[4];
+            for (int i = 0; i < items.length; i++) {
+                if (items[i] != null && items[i].getCosplayId() != null) {
+                    cosplays[i] = found.get(items[i].getCosplayId());
+                }
+            }
+            return new FeaturedSlots(items, cosplays);
+        }).thenAccept(this::showFeaturedImages);
+    }
+    
+    private record FeaturedSlots(FeaturedItem[] items, Cosplay[] cosplays) {}
+    
+    private void showFeaturedImages(FeaturedSlots slots) {
+        featuredItems = slots.items();
+        featuredCosplays = slots.cosplays();
         
         // Check if all featured items are empty
         boolean allEmpty = true;
@@ -261,10 +289,10 @@ public class HomeController {
             imageContainers[2] = (StackPane) set3Card.getChildren().get(0);
             imageContainers[3] = (StackPane) set4Card.getChildren().get(0);
             
-            setFromItem(set1Image, set1Title, featuredItems[0], imageContainers[0]);
-            setFromItem(set2Image, set2Title, featuredItems[1], imageContainers[1]);
-            setFromItem(set3Image, set3Title, featuredItems[2], imageContainers[2]);
-            setFromItem(set4Image, set4Title, featuredItems[3], imageContainers[3]);
+            setFromItem(set1Image, set1Title, featuredItems[0], featuredCosplays[0], imageContainers[0]);
+            setFromItem(set2Image, set2Title, featuredItems[1], featuredCosplays[1], imageContainers[1]);
+            setFromItem(set3Image, set3Title, featuredItems[2], featuredCosplays[2], imageContainers[2]);
+            setFromItem(set4Image, set4Title, featuredItems[3], featuredCosplays[3], imageContainers[3]);
             
             // Animate cards with staggered effect
             AnimationUtil.fadeInScaleDelayed(set1Card, 400, 100);
@@ -274,7 +302,7 @@ public class HomeController {
         }
     }
 
-    private void setFromItem(ImageView view, javafx.scene.control.Label titleLabel, FeaturedItem item, StackPane container) {
+    private void setFromItem(ImageView view, javafx.scene.control.Label titleLabel, FeaturedItem item, Cosplay linked, StackPane container) {
         if (view == null) return;
         
         // Check if there's no featured item
@@ -294,12 +322,12 @@ public class HomeController {
         
         // Prefer cosplay-based image
         if (item.getCosplayId() != null) {
-            new CosplayDAO().findById(item.getCosplayId()).ifPresent(c -> {
+            java.util.Optional.ofNullable(linked).ifPresent(c -> {
                 String path = c.getImagePath();
                 if (path != null && !path.isBlank()) {
                     try {
                         // Use ImageCache with higher resolution (280x400) for better quality
-                        Image image = ImageCache.getImageScaled(path, 280, 400, true);
+                        Image image = ImageCache.getImageScaled(path, PerformanceConfig.FEATURED_IMAGE_WIDTH, PerformanceConfig.FEATURED_IMAGE_HEIGHT, true);
                         if (image != null && !image.isError()) {
                             view.setImage(image);
                             // Reset container style when image loads successfully
@@ -326,7 +354,7 @@ public class HomeController {
         String url = item.getImageUrl();
         if (url != null && !url.isBlank()) {
             try {
-                Image image = ImageCache.getImageScaled(url, 280, 400, true);
+                Image image = ImageCache.getImageScaled(url, PerformanceConfig.FEATURED_IMAGE_WIDTH, PerformanceConfig.FEATURED_IMAGE_HEIGHT, true);
                 if (image != null && !image.isError()) {
                     view.setImage(image);
                     // Reset container style when image loads successfully
@@ -88,8 +88,6 @@ public class MessagesController {
      * USER VIEW: Load chat with admin
      */
     private void loadUserChat() {
-        userChatContainer.getChildren().clear();
-        
         // Get or create conversation
         currentConversationId = messageDAO.getOrCreateConversation(
             currentUser.getUserId(), 
@@ -103,8 +101,16 @@ public class MessagesController {
         }
         
         // Load messages
-        List<Message> messages = messageDAO.getMessagesByConversation(currentConversationId);
-        
+        int conversationId = currentConversationId;
+        messageDAO.getMessagesByConversationAsync(conversationId).thenAccept(messages -> {
+            if (conversationId == currentConversationId) {
+                showUserChat(messages);
+            }
+        });
+    }
+    
+    private void showUserChat(List<Message> messages) {
+        userChatContainer.getChildren().clear();
         if (messages.isEmpty()) {
             Label welcomeMsg = new Label("Start a conversation with the admin!");
             welcomeMsg.setStyle("-fx-text-fill: #999; -fx-font-size: 14px; -fx-padding: 20;");
@@ -142,21 +148,26 @@ public class MessagesController {
         message.setAdminReply(false);
         message.setStatus("unread");
         
-        if (messageDAO.sendMessage(message)) {
-            txtUserMessage.clear();
-            loadUserChat();
-        } else {
-            showUserStatus("Failed to send message", "error");
-        }
+        txtUserMessage.clear();
+        messageDAO.sendMessageAsync(message).thenAccept(sent -> {
+            if (sent) {
+                loadUserChat();
+            } else {
+                txtUserMessage.setText(messageText);
+                showUserStatus("Failed to send message", "error");
+            }
+        });
     }
     
     /**
      * ADMIN VIEW: Load conversation list
      */
     private void loadConversationList() {
+        messageDAO.getAllConversationsAsync().thenAccept(this::showConversationList);
+    }
+    
+    private void showConversationList(List<Conversation> conversations) {
         conversationListContainer.getChildren().clear();
-        List<Conversation> conversations = messageDAO.getAllConversations();
-        
         if (conversations.isEmpty()) {
             Label noConv = new Label("No conversations yet");
             noConv.setStyle("-fx-text-fill: #999; -fx-font-size: 14px; -fx-padding: 15;");
@@ -250,17 +261,25 @@ public class MessagesController {
      * ADMIN VIEW: Load chat messages for selected conversation
      */
     private void loadAdminChat() {
-        adminChatContainer.getChildren().clear();
-        
         if (currentConversationId == -1) {
+            adminChatContainer.getChildren().clear();
             Label selectMsg = new Label("Select a conversation to view messages");
             selectMsg.setStyle("-fx-text-fill: #999; -fx-font-size: 14px; -fx-padding: 20;");
             adminChatContainer.getChildren().add(selectMsg);
             return;
         }
         
-        List<Message> messages = messageDAO.getMessagesByConversation(currentConversationId);
-        
+        int conversationId = currentConversationId;
+        messageDAO.getMessagesByConversationAsync(conversationId).thenAccept(messages -> {
+            // Ignore the result if another conversation was opened meanwhile
+            if (conversationId == currentConversationId) {
+                showAdminChat(messages);
+            }
+        });
+    }
+    
+    private void showAdminChat(List<Message> messages) {
+        adminChatContainer.getChildren().clear();
         if (messages.isEmpty()) {
             Label noMsg = new Label("No messages in this conversation");
             noMsg.setStyle("-fx-text-fill: #999; -fx-font-size: 14px; -fx-padding: 20;");
@@ -301,11 +320,15 @@ public class MessagesController {
         message.setAdminReply(true);
         message.setStatus("read");
         
-        if (messageDAO.sendMessage(message)) {
-            txtAdminReply.clear();
-            loadAdminChat();
-            loadConversationList();
-        }
+        txtAdminReply.clear();
+        messageDAO.sendMessageAsync(message).thenAccept(sent -> {
+            if (sent) {
+                loadAdminChat();
+                loadConversationList();
+            } else {
+                txtAdminReply.setText(messageText);
+            }
+        });
     }
     
     /**
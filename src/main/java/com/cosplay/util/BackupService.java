@@ -0,0 +1,281 @@
+package com.cosplay.util;
+
+import com.cosplay.dao.CosplayDAO;
+import com.cosplay.dao.RentalDAO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteConnection;
+import org.sqlite.core.DB;
+
+/**
+ * Online backups of the live database through SQLite's backup API.
+ * Pages are copied a few at a time from a reader connection, pausing between steps,
+ * so the app keeps reading and writing while a backup runs. Each backup gets a
+ * SHA-256 sidecar file that {@link #restore(Path)} checks before touching the database.
+ *
+ * Usage: java com.cosplay.util.BackupService [backup | list | restore &lt;file&gt;]
+ */
+public class BackupService {
+    private static final String PREFIX = "cosplay_backup_";
+    private static final String SUFFIX = ".db";
+    private static final String CHECKSUM_SUFFIX = ".sha256";
+    private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd_HHmmss");
+
+    // Copy 64 pages (256 KB with the default page size) per step, then let other connections in
+    private static final int PAGES_PER_STEP = 64;
+    private static final long PAUSE_BETWEEN_STEPS_MS = 5;
+    // If a step finds the database busy, sleep this long and try again up to BUSY_ATTEMPTS times
+    private static final int BUSY_SLEEP_MS = 100;
+    private static final int BUSY_ATTEMPTS = 50;
+
+    private final Path directory;
+    private final int keep;
+    private ScheduledExecutorService scheduler;
+
+    /**
+     * Result of a backup or verification.
+     */
+    public record BackupReport(Path file, long bytes, String sha256, boolean integrityOk, long millis) {
+        @Override
+        public String toString() {
+            return file.getFileName() + " (" + bytes / 1024 + " KB, " + millis + " ms) sha256=" + sha256
+                    + (integrityOk ? " integrity ok" : " INTEGRITY CHECK FAILED");
+        }
+    }
+
+    /**
+     * @param directory where backups are written
+     * @param keep how many of the newest backups to keep; older ones are deleted after each backup
+     */
+    public BackupService(Path directory, int keep) {
+        this.directory = directory;
+        this.keep = Math.max(1, keep);
+    }
+
+    /**
+     * Run {@link #backup()} every {@code interval} on a background thread, starting after one interval.
+     */
+    public synchronized void start(Duration interval) {
+        if (scheduler != null) return;
+        scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "cosplay-backup");
+            t.setDaemon(true);
+            t.setPriority(Thread.MIN_PRIORITY);
+            return t;
+        });
+        long millis = interval.toMillis();
+        scheduler.scheduleWithFixedDelay(() -> {
+            try {
+                System.out.println("Scheduled backup: " + backup());
+            } catch (Exception e) {
+                System.err.println("Scheduled backup failed: " + e.getMessage());
+            }
+        }, millis, millis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stop() {
+        if (scheduler != null) {
+            scheduler.shutdownNow();
+            scheduler = null;
+        }
+    }
+
+    /**
+     * Copy the live database to a new timestamped file, verify it and rotate old backups.
+     */
+    public synchronized BackupReport backup() throws SQLException, IOException {
+        long started = System.nanoTime();
+        Files.createDirectories(directory);
+        Path target = directory.resolve(PREFIX + LocalDateTime.now().format(STAMP) + SUFFIX);
+        Path partial = directory.resolve(target.getFileName() + ".part");
+        Files.deleteIfExists(partial);
+
+        try (Connection conn = Database.connect()) {
+            // Pin one WAL snapshot for the whole copy. Without it, every commit from the app
+            // restarts the backup from page 1, and under steady writes it would never finish.
+            conn.setAutoCommit(false);
+            try (Statement st = conn.createStatement(); ResultSet rs = st.executeQuery("SELECT count(*) FROM sqlite_master")) {
+                rs.next();
+                DB db = conn.unwrap(SQLiteConnection.class).getDatabase();
+                int rc = db.backup("main", partial.toString(), (remaining, pageCount) -> pause(),
+                        BUSY_SLEEP_MS, BUSY_ATTEMPTS, PAGES_PER_STEP);
+                if (rc != 0) {
+                    throw new SQLException("Backup to " + target + " failed with SQLite code " + rc, null, rc);
+                }
+            } finally {
+                conn.rollback();
+                conn.setAutoCommit(true);
+            }
+            // The copy inherits WAL mode from the live file; switch it back so the backup is a single self-contained file
+            try (Connection copy = DriverManager.getConnection("jdbc:sqlite:" + partial);
+                 Statement st = copy.createStatement()) {
+                st.execute("PRAGMA journal_mode=DELETE");
+            }
+        } catch (SQLException | RuntimeException e) {
+            Files.deleteIfExists(partial);
+            throw e;
+        }
+        Files.move(partial, target, StandardCopyOption.REPLACE_EXISTING);
+
+        String sha256 = sha256(target);
+        Files.writeString(checksumFile(target), sha256 + "  " + target.getFileName() + "\n");
+        BackupReport report = new BackupReport(target, Files.size(target), sha256, quickCheck(target),
+                (System.nanoTime() - started) / 1_000_000);
+        rotate();
+        return report;
+    }
+
+    /**
+     * Check a backup file against its checksum sidecar and run SQLite's quick_check on it.
+     */
+    public BackupReport verify(Path file) throws SQLException, IOException {
+        long started = System.nanoTime();
+        String sha256 = sha256(file);
+        Path sidecar = checksumFile(file);
+        if (Files.exists(sidecar)) {
+            String expected = Files.readString(sidecar).trim().split("\\s+")[0];
+            if (!expected.equalsIgnoreCase(sha256)) {
+                throw new IOException("Checksum mismatch for " + file.getFileName() + ": expected " + expected + ", got " + sha256);
+            }
+        }
+        return new BackupReport(file, Files.size(file), sha256, quickCheck(file), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Replace the live database with a verified backup. Runs on the writer connection,
+     * so app writes wait until the restore finishes; schema migrations are re-applied afterwards
+     * in case the backup predates them. The in-memory catalog, facet counts and booked days
+     * of this process are dropped afterwards. A restore run from the command line is another
+     * process, so a running app must be restarted after it.
+     */
+    public synchronized BackupReport restore(Path file) throws SQLException, IOException {
+        BackupReport report = verify(file);
+        if (!report.integrityOk()) {
+            throw new SQLException("Refusing to restore " + file.getFileName() + ": integrity check failed");
+        }
+        try (Connection conn = Database.connectWriter()) {
+            DB db = conn.unwrap(SQLiteConnection.class).getDatabase();
+            int rc = db.restore("main", file.toString(), (remaining, pageCount) -> { },
+                    BUSY_SLEEP_MS, BUSY_ATTEMPTS, PAGES_PER_STEP);
+            if (rc != 0) {
+                throw new SQLException("Restore from " + file + " failed with SQLite code " + rc, null, rc);
+            }
+        }
+        SchemaMigrator.migrate();
+        // The snapshots still describe the old database
+        new CosplayDAO().invalidateCache();
+        new RentalDAO().invalidateCache();
+        return report;
+    }
+
+    /** Backups in the backup directory, newest first. */
+    public List<Path> listBackups() throws IOException {
+        List<Path> backups = new ArrayList<>();
+        if (!Files.isDirectory(directory)) return backups;
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, PREFIX + "*" + SUFFIX)) {
+            stream.forEach(backups::add);
+        }
+        // The timestamp in the name sorts chronologically
+        backups.sort((a, b) -> b.getFileName().toString().compareTo(a.getFileName().toString()));
+        return backups;
+    }
+
+    private void rotate() throws IOException {
+        List<Path> backups = listBackups();
+        for (int i = keep; i < backups.size(); i++) {
+            Files.deleteIfExists(backups.get(i));
+            Files.deleteIfExists(checksumFile(backups.get(i)));
+        }
+    }
+
+    private static void pause() {
+        try {
+            Thread.sleep(PAUSE_BETWEEN_STEPS_MS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static Path checksumFile(Path file) {
+        return file.resolveSibling(file.getFileName() + CHECKSUM_SUFFIX);
+    }
+
+    private static boolean quickCheck(Path file) throws SQLException {
+        SQLiteConfig config = new SQLiteConfig();
+        config.setReadOnly(true);
+        try (Connection conn = DriverManager.getConnection("jdbc:sqlite:" + file, config.toProperties());
+             Statement st = conn.createStatement();
+             ResultSet rs = st.executeQuery("PRAGMA quick_check")) {
+            return rs.next() && "ok".equalsIgnoreCase(rs.getString(1));
+        }
+    }
+
+    private static String sha256(Path file) throws IOException {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(java.io.OutputStream.nullOutputStream());
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    public static void main(String[] args) {
+        BackupService service = new BackupService(Paths.get("backups"), 14);
+        String command = args.length > 0 ? args[0] : "backup";
+        try {
+            Database.init();
+            switch (command) {
+                case "backup" -> System.out.println("✓ Backup created: " + service.backup());
+                case "list" -> {
+                    for (Path p : service.listBackups()) {
+                        System.out.println(service.verify(p));
+                    }
+                }
+                case "restore" -> {
+                    if (args.length < 2) {
+                        System.err.println("Usage: BackupService restore <backup file>");
+                        System.exit(1);
+                    }
+                    System.out.println("✓ Restored from: " + service.restore(Paths.get(args[1])));
+                }
+                default -> {
+                    System.err.println("Unknown command: " + command + " (use backup, list or restore <file>)");
+                    System.exit(1);
+                }
+            }
+        } catch (Exception e) {
+            System.err.println("Backup command failed: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        } finally {
+            Database.close();
+        }
+    }
+}
@@ -1,17 +1,59 @@
 package com.cosplay.util;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.Set;
+
 /**
  * Utility to export database data to seed_data.sql
  * Run this whenever you want to share your current database state via Git
+ *
+ * Optional arguments (for backups / moving data between PCs, not for Git):
+ *   --include=rentals,messages,users   also export these device-specific tables
+ *   --out=path/to/file.sql             write somewhere other than seed_data.sql
+ *   --gzip                             compress the output
  */
 public class DataExporter {
     public static void main(String[] args) {
-        System.out.println("Starting database export...");
-        Database.exportAllData();
-        System.out.println("\nDone! Check src/main/resources/db/seed_data.sql");
-        System.out.println("You can now:");
-        System.out.println("  1. Commit the file to Git");
-        System.out.println("  2. Push to your repository");
-        System.out.println("  3. Other developers can pull and run Database.loadSeedData()");
+        if (args.length == 0) {
+            System.out.println("Starting database export...");
+            Database.exportAllData();
+            System.out.println("\nDone! Check src/main/resources/db/seed_data.sql");
+            System.out.println("You can now:");
+            System.out.println("  1. Commit the file to Git");
+            System.out.println("  2. Push to your repository");
+            System.out.println("  3. Other developers can pull and run Database.loadSeedData()");
+            return;
+        }
+
+        Set<SqlExporter.Table> tables = EnumSet.copyOf(SqlExporter.DEFAULT_TABLES);
+        boolean gzip = false;
+        String out = null;
+        for (String arg : args) {
+            if (arg.equals("--gzip")) {
+                gzip = true;
+            } else if (arg.startsWith("--include=")) {
+                for (String name : arg.substring("--include=".length()).split(",")) {
+                    tables.add(SqlExporter.Table.fromName(name));
+                }
+            } else if (arg.startsWith("--out=")) {
+                out = arg.substring("--out=".length());
+            } else {
+                System.err.println("Unknown argument: " + arg);
+                System.exit(1);
+            }
+        }
+        Path outputPath = Paths.get(out != null ? out : "cosplay_export.sql" + (gzip ? ".gz" : ""));
+
+        System.out.println("Starting database export of " + tables + "...");
+        try {
+            long rows = SqlExporter.export(outputPath, tables, gzip);
+            System.out.println("\nDone! Wrote " + rows + " rows to " + outputPath);
+        } catch (Exception e) {
+            System.err.println("Failed to export data: " + e.getMessage());
+            e.printStackTrace();
+            System.exit(1);
+        }
     }
 }
@@ -2,283 +2,332 @@ package com.cosplay.util;
 
 import com.zaxxer.hikari.HikariConfig;
 import com.zaxxer.hikari.HikariDataSource;
-import java.io.BufferedReader;
+import com.zaxxer.hikari.HikariPoolMXBean;
+import java.io.File;
+import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.sql.BatchUpdateException;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.sql.Statement;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.concurrent.atomic.AtomicLong;
+import org.sqlite.SQLiteConfig;
+import org.sqlite.SQLiteErrorCode;
 
 public class Database {
-    private static final String URL = "jdbc:sqlite:cosplay.db";
-    private static HikariDataSource dataSource;
+    // -Dcosplay.db.path lets tools (e.g. QueryPlanCheck) point the app at a scratch database
+    private static final String DB_PATH = System.getProperty("cosplay.db.path", "cosplay.db");
+    private static final String URL = "jdbc:sqlite:" + DB_PATH;
+
+    // WAL lets readers keep working while the writer commits; set to false to fall back to rollback-journal mode
+    private static final boolean WAL_MODE = true;
+    private static final int BUSY_TIMEOUT_MS = 5000;
+    private static final int READER_POOL_SIZE = PerformanceConfig.DB_POOL_MAX_SIZE;
+
+    // Busy retry policy for the writer (exponential backoff with full jitter)
+    private static final int MAX_BUSY_RETRIES = 5;
+    private static final long BUSY_BACKOFF_BASE_MS = 25;
+    private static final long BUSY_BACKOFF_MAX_MS = 1000;
+
+    private static final String SEED_RESOURCE = "/db/seed_data.sql";
+    private static final int SEED_BATCH_SIZE = 500;
+    private static final int SEED_PROGRESS_EVERY = 5000;
+
+    private static HikariDataSource writerSource;
+    private static HikariDataSource readerSource;
+    private static final PoolMetricsTracker writerMetrics = new PoolMetricsTracker();
+    private static final PoolMetricsTracker readerMetrics = new PoolMetricsTracker();
+
+    // Time from asking for the writer until BEGIN IMMEDIATE holds the lock, per attempt
+    private static final LatencyHistogram writeLockWait = new LatencyHistogram();
+    private static final AtomicLong busyRetries = new AtomicLong();
+    private static final AtomicLong busyFailures = new AtomicLong();
+
+    // Optional observer of every SQL string the app prepares or executes (diagnostic tools only)
+    private static volatile Consumer<String> sqlListener;
+
+    /**
+     * Unit of work that runs against the single writer connection.
+     */
+    @FunctionalInterface
+    public interface SqlWork<T> {
+        T run(Connection conn) throws SQLException;
+    }
 
     static {
-        // Initialize connection pool
-        HikariConfig config = new HikariConfig();
-        config.setJdbcUrl(URL);
-        config.setMaximumPoolSize(10); // Limit concurrent connections for SQLite
-        config.setMinimumIdle(2);
-        config.setConnectionTimeout(30000);
-        config.setIdleTimeout(600000);
-        config.setMaxLifetime(1800000);
-        
-        // SQLite specific optimizations
-        config.addDataSourceProperty("cachePrepStmts", "true");
-        config.addDataSourceProperty("prepStmtCacheSize", "250");
-        config.addDataSourceProperty("prepStmtCacheSqlLimit", "2048");
-        
-        dataSource = new HikariDataSource(config);
+        // The writer is created first: it owns the file and switches it to WAL before any reader opens it
+        SQLiteConfig writerConfig = new SQLiteConfig();
+        writerConfig.setJournalMode(WAL_MODE ? SQLiteConfig.JournalMode.WAL : SQLiteConfig.JournalMode.DELETE);
+        writerConfig.setSynchronous(WAL_MODE ? SQLiteConfig.SynchronousMode.NORMAL : SQLiteConfig.SynchronousMode.FULL);
+        writerConfig.setBusyTimeout(BUSY_TIMEOUT_MS);
+        // Every writer transaction writes, so take the write lock at BEGIN. A deferred
+        // transaction would read first and only fail with SQLITE_BUSY at its first write
+        writerConfig.setTransactionMode(SQLiteConfig.TransactionMode.IMMEDIATE);
+
+        HikariConfig writer = new HikariConfig();
+        writer.setPoolName("cosplay-writer");
+        writer.setJdbcUrl(URL);
+        writer.setMaximumPoolSize(1); // SQLite allows one writer at a time, so queue in the pool instead of in the engine
+        writer.setMinimumIdle(1);
+        writer.setConnectionTimeout(30000);
+        writer.setIdleTimeout(0);
+        writer.setMaxLifetime(0);
+        writer.setDataSourceProperties(writerConfig.toProperties());
+        writer.setMetricsTrackerFactory(writerMetrics);
+        writerSource = new HikariDataSource(writer);
+
+        SQLiteConfig readerConfig = new SQLiteConfig();
+        readerConfig.setReadOnly(true);
+        readerConfig.setBusyTimeout(BUSY_TIMEOUT_MS);
+
+        HikariConfig reader = new HikariConfig();
+        reader.setPoolName("cosplay-reader");
+        reader.setJdbcUrl(URL);
+        reader.setReadOnly(true);
+        reader.setMaximumPoolSize(READER_POOL_SIZE);
+        reader.setMinimumIdle(PerformanceConfig.DB_POOL_MIN_IDLE);
+        reader.setConnectionTimeout(30000);
+        reader.setIdleTimeout(600000);
+        reader.setMaxLifetime(1800000);
+        reader.setDataSourceProperties(readerConfig.toProperties());
+        reader.setMetricsTrackerFactory(readerMetrics);
+        readerSource = new HikariDataSource(reader);
     }
 
+    /**
+     * Borrow a read-only connection from the reader pool.
+     * In WAL mode these never wait on the writer.
+     */
     public static Connection connect() throws SQLException {
-        return dataSource.getConnection();
+        return traced(readerSource.getConnection());
     }
-    
-    public static void close() {
-        if (dataSource != null && !dataSource.isClosed()) {
-            dataSource.close();
-        }
+
+    /**
+     * Borrow the single writer connection. Callers queue here rather than
+     * racing each other for the SQLite write lock. Prefer {@link #write(SqlWork)},
+     * which adds the transaction and busy-retry handling.
+     */
+    public static Connection connectWriter() throws SQLException {
+        return traced(writerSource.getConnection());
     }
 
-    // Called at app startup to create tables if they don't exist
-    public static void init() {
-        String createcosplays =
-            "CREATE TABLE IF NOT EXISTS cosplays (" +
-            "cosplay_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-            "name TEXT NOT NULL," +
-            "category TEXT," +
-            "series_name TEXT," +
-            "size TEXT," +
-            "description TEXT," +
-            "image_path TEXT," +
-            "rent_rate_1day REAL," +
-            "rent_rate_2days REAL," +
-            "rent_rate_3days REAL," +
-            "add_ons TEXT" +
-            ");";
-
-        String createRentals =
-            "CREATE TABLE IF NOT EXISTS rentals (" +
-            "rental_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-            "cosplay_id INTEGER NOT NULL," +
-            "customer_name TEXT," +
-            "contact_number TEXT," +
-            "address TEXT," +
-            "facebook_link TEXT," +
-            "start_date TEXT NOT NULL," +   // YYYY-MM-DD
-            "end_date TEXT NOT NULL," +
-            "payment_method TEXT," +
-            "proof_of_payment TEXT," +
-            "status TEXT DEFAULT 'Pending'," +
-            "FOREIGN KEY(cosplay_id) REFERENCES cosplays(cosplay_id)" +
-            ");";
-
-        String createUsers =
-            "CREATE TABLE IF NOT EXISTS users (" +
-            "user_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-            "username VARCHAR(50) UNIQUE NOT NULL," +
-            "password VARCHAR(255)," +
-            "email VARCHAR(100)," +
-            "role VARCHAR(20) DEFAULT 'customer'," +
-            "email_verified INTEGER DEFAULT 0," +
-            "verification_token VARCHAR(255)," +
-            "oauth_provider VARCHAR(20)," +
-            "oauth_id VARCHAR(255)" +
-            ");";
-
-        String createFeatured =
-            "CREATE TABLE IF NOT EXISTS featured_images (" +
-            "slot INTEGER PRIMARY KEY," +
-            "image_url TEXT," +
-            "title TEXT" +
-            ");";
-
-        String createEventBanners =
-            "CREATE TABLE IF NOT EXISTS event_banners (" +
-            "id INTEGER PRIMARY KEY AUTOINCREMENT," +
-            "title TEXT NOT NULL," +
-            "message TEXT NOT NULL," +
-            "is_active INTEGER DEFAULT 0," +
-            "background_color TEXT DEFAULT '#fff4ed'," +
-            "text_color TEXT DEFAULT '#d47f47'," +
-            "link_url TEXT," +
-            "link_text TEXT," +
-            "image_path TEXT," +
-            "subtitle TEXT," +
-            "event_name TEXT," +
-            "venue TEXT," +
-            "onsite_rent_date TEXT" +
-            ");";
-
-        String createMessages =
-            "CREATE TABLE IF NOT EXISTS messages (" +
-            "message_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-            "conversation_id INTEGER NOT NULL," +
-            "sender_id INTEGER NOT NULL," +
-            "sender_name TEXT NOT NULL," +
-            "sender_email TEXT," +
-            "message TEXT NOT NULL," +
-            "timestamp TEXT NOT NULL," +
-            "is_admin_reply INTEGER DEFAULT 0," +
-            "status TEXT DEFAULT 'unread'," +
-            "FOREIGN KEY(sender_id) REFERENCES users(user_id)" +
-            ");";
-
-        String createConversations =
-            "CREATE TABLE IF NOT EXISTS conversations (" +
-            "conversation_id INTEGER PRIMARY KEY AUTOINCREMENT," +
-            "user_id INTEGER NOT NULL," +
-            "user_name TEXT NOT NULL," +
-            "user_email TEXT," +
-            "last_message TEXT," +
-            "last_message_time TEXT," +
-            "unread_count INTEGER DEFAULT 0," +
-            "created_at TEXT NOT NULL," +
-            "FOREIGN KEY(user_id) REFERENCES users(user_id)" +
-            ");";
-
-        try (Connection conn = connect(); Statement stmt = conn.createStatement()) {
-            // Drop old messages table if it has the wrong schema (subject column)
-            try {
-                ResultSet rs = stmt.executeQuery("PRAGMA table_info(messages)");
-                boolean hasSubject = false;
-                while (rs.next()) {
-                    if ("subject".equals(rs.getString("name"))) {
-                        hasSubject = true;
-                        break;
-                    }
+    /**
+     * A reader connection without the profiling or tracing wrappers, for diagnostics that
+     * must not measure themselves.
+     */
+    static Connection connectUnwrapped() throws SQLException {
+        return readerSource.getConnection();
+    }
+
+    private static Connection traced(Connection conn) {
+        conn = SqlProfiler.wrap(conn);
+        Consumer<String> listener = sqlListener;
+        return listener == null ? conn : TracingConnection.wrap(conn, listener);
+    }
+
+    /**
+     * Install (or clear with null) a listener that sees the SQL text of every statement
+     * prepared or executed through {@link #connect()} and {@link #connectWriter()}.
+     */
+    static void setSqlListener(Consumer<String> listener) {
+        sqlListener = listener;
+    }
+
+    /** Path of the SQLite file this process uses. */
+    public static String getDatabasePath() {
+        return DB_PATH;
+    }
+
+    /**
+     * Run a unit of work in one transaction on the writer connection.
+     * The transaction begins IMMEDIATE, so the work holds the write lock from its first
+     * read: a check-then-insert cannot be overtaken by another process between the two.
+     * If SQLite reports the database as busy or locked (e.g. another process
+     * or a backup holds the lock), the whole unit is rolled back and retried
+     * with jittered exponential backoff.
+     */
+    public static <T> T write(SqlWork<T> work) throws SQLException {
+        int attempt = 0;
+        while (true) {
+            long asked = System.nanoTime();
+            try (Connection conn = connectWriter()) {
+                begin(conn);
+                writeLockWait.record(System.nanoTime() - asked);
+                try {
+                    T result = work.run(conn);
+                    // COMMIT. The driver's commit() would BEGIN IMMEDIATE again straight after,
+                    // and a busy error there would retry work that is already committed
+                    conn.setAutoCommit(true);
+                    return result;
+                } catch (SQLException | RuntimeException e) {
+                    abort(conn, e);
+                    throw e;
                 }
-                if (hasSubject) {
-                    stmt.executeUpdate("DROP TABLE IF EXISTS messages");
-                    System.out.println("Dropped old messages table with incompatible schema.");
+            } catch (SQLException e) {
+                if (!isBusy(e)) {
+                    throw e;
                 }
-            } catch (SQLException ignored) {
-                // Table doesn't exist yet
-            }
-            
-            // Migrate old 'costumes' table to 'cosplays' if it exists
-            try {
-                stmt.executeUpdate("ALTER TABLE costumes RENAME TO cosplays");
-                System.out.println("Migrated 'costumes' table to 'cosplays'.");
-            } catch (SQLException ignored) {
-                // Table doesn't exist or already renamed
-            }
-            
-            // Migrate old 'costume_id' column in rentals table if it exists
-            try {
-                stmt.executeUpdate("ALTER TABLE rentals RENAME COLUMN costume_id TO cosplay_id");
-                System.out.println("Migrated 'costume_id' column to 'cosplay_id' in rentals.");
-            } catch (SQLException ignored) {
-                // Column doesn't exist or already renamed
-            }
-            
-            // Migrate old 'costume_id' column in featured_images table if it exists
-            try {
-                stmt.executeUpdate("ALTER TABLE featured_images RENAME COLUMN costume_id TO cosplay_id");
-                System.out.println("Migrated 'costume_id' column to 'cosplay_id' in featured_images.");
-            } catch (SQLException ignored) {
-                // Column doesn't exist or already renamed
+                if (attempt >= MAX_BUSY_RETRIES) {
+                    busyFailures.incrementAndGet();
+                    throw e;
+                }
+                busyRetries.incrementAndGet();
+                backoff(attempt++);
             }
-            
-            stmt.execute(createcosplays);
-            stmt.execute(createRentals);
-            stmt.execute(createUsers);
-            stmt.execute(createFeatured);
-            stmt.execute(createEventBanners);
-            stmt.execute(createConversations);
-            stmt.execute(createMessages);
-            
-            // Add new columns if they don't exist (for existing databases)
-            try {
-                stmt.executeUpdate("ALTER TABLE users ADD COLUMN email_verified INTEGER DEFAULT 0");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE users ADD COLUMN verification_token VARCHAR(255)");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE users ADD COLUMN oauth_provider VARCHAR(20)");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE users ADD COLUMN oauth_id VARCHAR(255)");
-            } catch (SQLException ignored) { }
-            
-            // Add new rental columns if they don't exist
-            try {
-                stmt.executeUpdate("ALTER TABLE rentals ADD COLUMN rent_days INTEGER DEFAULT 1");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE rentals ADD COLUMN customer_addons TEXT");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE rentals ADD COLUMN selfie_photo TEXT");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE rentals ADD COLUMN id_photo TEXT");
-            } catch (SQLException ignored) { }
-            
-            // Add conversation_id to messages table if it doesn't exist (for older databases)
-            try {
-                stmt.executeUpdate("ALTER TABLE messages ADD COLUMN conversation_id INTEGER");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE messages ADD COLUMN is_admin_reply INTEGER DEFAULT 0");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE messages ADD COLUMN status TEXT DEFAULT 'unread'");
-            } catch (SQLException ignored) { }
-            
-            // Try to add cosplay_id column for linking featured slots to cosplays
+        }
+    }
+
+    /**
+     * BEGIN IMMEDIATE, waiting up to the busy timeout. sqlite-jdbc leaves auto-commit before it
+     * runs BEGIN, so if BEGIN fails the connection is put back in auto-commit mode (the COMMIT
+     * that comes with it fails harmlessly). Otherwise the next write on this pooled connection
+     * would skip BEGIN and run each statement in a transaction of its own.
+     */
+    private static void begin(Connection conn) throws SQLException {
+        try {
+            conn.setAutoCommit(false);
+        } catch (SQLException e) {
             try {
-                stmt.executeUpdate("ALTER TABLE featured_images ADD COLUMN cosplay_id INTEGER REFERENCES cosplays(cosplay_id)");
-            } catch (SQLException ignored) {
-                // Column may already exist; ignore
+                conn.setAutoCommit(true);
+            } catch (SQLException noTransaction) {
+                e.addSuppressed(noTransaction);
             }
-            
-            // Add new columns to cosplays table if they don't exist
-            try {
-                stmt.executeUpdate("ALTER TABLE cosplays ADD COLUMN series_name TEXT");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE cosplays ADD COLUMN rent_rate_1day REAL");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE cosplays ADD COLUMN rent_rate_2days REAL");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE cosplays ADD COLUMN rent_rate_3days REAL");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE cosplays ADD COLUMN add_ons TEXT");
-            } catch (SQLException ignored) { }
+            throw e;
+        }
+    }
 
-            // Add new columns to event_banners table if they don't exist
-            try {
-                stmt.executeUpdate("ALTER TABLE event_banners ADD COLUMN image_path TEXT");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE event_banners ADD COLUMN subtitle TEXT");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE event_banners ADD COLUMN event_name TEXT");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE event_banners ADD COLUMN venue TEXT");
-            } catch (SQLException ignored) { }
-            try {
-                stmt.executeUpdate("ALTER TABLE event_banners ADD COLUMN onsite_rent_date TEXT");
-            } catch (SQLException ignored) { }
-
-            // Seed a default admin account (username: admin, password: admin)
-            // Hash the password using BCrypt
-            String hashedPassword = PasswordUtil.hashPassword("admin");
-            stmt.executeUpdate("INSERT OR IGNORE INTO users(username,password,email,role) VALUES('admin','" + hashedPassword + "','admin@example.com','admin')");
-            // Seed 4 featured slots if absent
-            for (int i = 1; i <= 4; i++) {
-                stmt.executeUpdate("INSERT OR IGNORE INTO featured_images(slot,image_url,title) VALUES(" + i + ", NULL, NULL)");
+    /**
+     * Roll back after a failed unit of work and put the connection back in auto-commit mode,
+     * whatever state the failure left it in. Cleanup errors are attached to {@code failure},
+     * which stays the error the busy retry looks at.
+     */
+    private static void abort(Connection conn, Throwable failure) {
+        try {
+            if (conn.getAutoCommit()) {
+                // The COMMIT itself failed, after the driver had already left the transaction
+                try (Statement stmt = conn.createStatement()) {
+                    stmt.execute("ROLLBACK");
+                }
+            } else {
+                conn.rollback();
             }
-            System.out.println("Database initialized (cosplay.db).");
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+        try {
+            conn.setAutoCommit(true);
+        } catch (SQLException e) {
+            failure.addSuppressed(e);
+        }
+    }
+
+    /** SQLite reported the database busy or locked; retrying later may succeed. */
+    public static boolean isBusy(SQLException e) {
+        // Primary result code lives in the low byte of extended codes
+        int code = e.getErrorCode() & 0xff;
+        return code == SQLiteErrorCode.SQLITE_BUSY.code || code == SQLiteErrorCode.SQLITE_LOCKED.code;
+    }
+
+    private static void backoff(int attempt) throws SQLException {
+        long ceiling = Math.min(BUSY_BACKOFF_MAX_MS, BUSY_BACKOFF_BASE_MS << attempt);
+        long sleep = ThreadLocalRandom.current().nextLong(ceiling / 2, ceiling + 1);
+        try {
+            Thread.sleep(sleep);
+        } catch (InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw new SQLException("Interrupted while waiting for the database write lock", ie);
+        }
+    }
+
+    /** Number of times a write was retried after SQLITE_BUSY/SQLITE_LOCKED. */
+    public static long getBusyRetryCount() {
+        return busyRetries.get();
+    }
+
+    /** Number of writes that gave up after exhausting their busy retries. */
+    public static long getBusyFailureCount() {
+        return busyFailures.get();
+    }
+
+    /** Number of read-only connections; also caps concurrent background DAO calls. */
+    public static int getReaderPoolSize() {
+        return READER_POOL_SIZE;
+    }
+
+    /**
+     * Snapshot of pool activity and database file counters.
+     * SQLite's page-cache hit/miss counters (sqlite3_db_status) are not reachable through JDBC,
+     * so they are not included.
+     */
+    public static DatabaseMetrics getMetrics() {
+        long pageCount = 0, pageSize = 0, freePages = 0;
+        try (Connection conn = connectUnwrapped(); Statement st = conn.createStatement()) {
+            pageCount = pragma(st, "page_count");
+            pageSize = pragma(st, "page_size");
+            freePages = pragma(st, "freelist_count");
+        } catch (SQLException e) {
+            System.err.println("Failed to read database metrics: " + e.getMessage());
+        }
+        File wal = new File(DB_PATH + "-wal");
+        return new DatabaseMetrics(poolMetrics(writerSource, writerMetrics), poolMetrics(readerSource, readerMetrics),
+                pageCount, pageSize, freePages, wal.length(),
+                writeLockWait.count(), writeLockWait.percentileMs(0.95), writeLockWait.maxMs(),
+                busyRetries.get(), busyFailures.get());
+    }
+
+    private static long pragma(Statement st, String name) throws SQLException {
+        try (ResultSet rs = st.executeQuery("PRAGMA " + name)) {
+            return rs.next() ? rs.getLong(1) : 0;
+        }
+    }
+
+    private static DatabaseMetrics.Pool poolMetrics(HikariDataSource source, PoolMetricsTracker tracker) {
+        HikariPoolMXBean pool = source.getHikariPoolMXBean();
+        return new DatabaseMetrics.Pool(source.getPoolName(),
+                pool == null ? 0 : pool.getActiveConnections(),
+                pool == null ? 0 : pool.getIdleConnections(),
+                pool == null ? 0 : pool.getTotalConnections(),
+                source.getMaximumPoolSize(),
+                pool == null ? 0 : pool.getThreadsAwaitingConnection(),
+                tracker.acquire.count(),
+                tracker.acquire.percentileMs(0.50),
+                tracker.acquire.percentileMs(0.95),
+                tracker.acquire.percentileMs(0.99),
+                tracker.acquire.maxMs(),
+                tracker.usage.percentileMs(0.95),
+                tracker.created.get(),
+                tracker.timeouts.get());
+    }
+
+    public static boolean isWalMode() {
+        return WAL_MODE;
+    }
+
+    public static void close() {
+        if (readerSource != null && !readerSource.isClosed()) {
+            readerSource.close();
+        }
+        if (writerSource != null && !writerSource.isClosed()) {
+            writerSource.close();
+        }
+    }
+
+    /**
+     * Called at app startup to bring the schema up to date.
+     * Pending migrations run once; a warm start only reads the schema version.
+     * @see SchemaMigrator
+     */
+    public static void init() {
+        try {
+            SchemaMigrator.migrate();
+            System.out.println("Database initialized (" + DB_PATH + ").");
         } catch (SQLException e) {
             System.err.println("Failed to initialize DB: " + e.getMessage());
             e.printStackTrace();
@@ -288,47 +337,69 @@ public class Database {
     /**
      * Load seed data from SQL file. This is useful for sharing sample data via repository.
      * Call this method after init() if you want to populate the database with test data.
+     * The script is streamed statement by statement and applied in a single transaction,
+     * so a failed load leaves the database untouched.
      * 
      * Usage: Database.loadSeedData();
      */
     public static void loadSeedData() {
-        try (Connection conn = connect();
-             Statement stmt = conn.createStatement();
-             InputStream is = Database.class.getResourceAsStream("/db/seed_data.sql");
-             BufferedReader reader = new BufferedReader(new InputStreamReader(is))) {
-            
-            if (is == null) {
-                System.out.println("No seed data file found at /db/seed_data.sql");
-                return;
-            }
-            
-            StringBuilder sql = new StringBuilder();
-            String line;
-            
-            while ((line = reader.readLine()) != null) {
-                line = line.trim();
-                // Skip comments and empty lines
-                if (line.isEmpty() || line.startsWith("--")) {
-                    continue;
+        if (Database.class.getResource(SEED_RESOURCE) == null) {
+            System.out.println("No seed data file found at " + SEED_RESOURCE);
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            // The script is reopened inside the work so a busy retry replays it from the start
+            int count = write(conn -> {
+                try (InputStream is = Database.class.getResourceAsStream(SEED_RESOURCE);
+                     SqlScriptReader script = new SqlScriptReader(new InputStreamReader(is, StandardCharsets.UTF_8))) {
+                    return runScript(conn, script);
+                } catch (IOException e) {
+                    throw new SQLException("Could not read " + SEED_RESOURCE + ": " + e.getMessage(), e);
+                }
+            });
+            long ms = (System.nanoTime() - started) / 1_000_000;
+            System.out.println("Seed data loaded successfully (" + count + " statements in " + ms + " ms).");
+        } catch (SQLException e) {
+            System.err.println("Failed to load seed data, nothing was applied: " + e.getMessage());
+            e.printStackTrace();
+        }
+    }
+
+    // Executes the script in batches on the caller's transaction and returns the number of statements
+    private static int runScript(Connection conn, SqlScriptReader script) throws SQLException, IOException {
+        int count = 0;
+        int batched = 0;
+        int batchStartLine = 1;
+        try (Statement stmt = conn.createStatement()) {
+            String sql;
+            while ((sql = script.next()) != null) {
+                if (batched == 0) {
+                    batchStartLine = script.getStatementLine();
                 }
-                sql.append(line).append(" ");
-                
-                // Execute when we hit a semicolon (end of statement)
-                if (line.endsWith(";")) {
-                    try {
-                        stmt.execute(sql.toString());
-                    } catch (SQLException e) {
-                        System.err.println("Error executing seed statement: " + e.getMessage());
-                    }
-                    sql.setLength(0); // Clear for next statement
+                stmt.addBatch(sql);
+                batched++;
+                count++;
+                if (batched == SEED_BATCH_SIZE) {
+                    executeSeedBatch(stmt, batchStartLine);
+                    batched = 0;
+                }
+                if (count % SEED_PROGRESS_EVERY == 0) {
+                    System.out.println("  ... " + count + " statements");
                 }
             }
-            
-            System.out.println("Seed data loaded successfully.");
-            
-        } catch (Exception e) {
-            System.err.println("Failed to load seed data: " + e.getMessage());
-            e.printStackTrace();
+            if (batched > 0) {
+                executeSeedBatch(stmt, batchStartLine);
+            }
+        }
+        return count;
+    }
+
+    private static void executeSeedBatch(Statement stmt, int batchStartLine) throws SQLException {
+        try {
+            stmt.executeBatch();
+        } catch (BatchUpdateException e) {
+            throw new SQLException("Seed batch starting at line " + batchStartLine + " failed: " + e.getMessage(), e);
         }
     }
     
@@ -336,86 +407,18 @@ public class Database {
      * Export current database data to SQL format (for sharing).
      * This creates INSERT statements that can be committed to the repository.
      * The output is saved to src/main/resources/db/seed_data.sql
+     * @see SqlExporter for exporting other tables or compressed output
      */
     public static void exportAllData() {
-        StringBuilder sql = new StringBuilder();
-        sql.append("-- Seed data for cosplay rental application\n");
-        sql.append("-- Auto-generated export from database\n");
-        sql.append("-- This file can be safely committed to version control\n");
-        sql.append("-- Note: Users and rentals are NOT exported (user accounts are device-specific)\n\n");
-        
-        try (Connection conn = connect()) {
-            // Export Cosplays
-            sql.append("-- Cosplays\n");
-            var cosplaysStmt = conn.createStatement();
-            var cosplaysRs = cosplaysStmt.executeQuery("SELECT * FROM cosplays");
-            while (cosplaysRs.next()) {
-                sql.append(String.format("INSERT OR IGNORE INTO cosplays (cosplay_id, name, category, series_name, size, description, image_path, rent_rate_1day, rent_rate_2days, rent_rate_3days, add_ons) VALUES (%d, '%s', '%s', '%s', '%s', '%s', '%s', %.2f, %.2f, %.2f, %s);\n",
-                    cosplaysRs.getInt("cosplay_id"),
-                    escapeSql(cosplaysRs.getString("name")),
-                    escapeSql(cosplaysRs.getString("category")),
-                    escapeSql(cosplaysRs.getString("series_name")),
-                    escapeSql(cosplaysRs.getString("size")),
-                    escapeSql(cosplaysRs.getString("description")),
-                    escapeSql(cosplaysRs.getString("image_path")),
-                    cosplaysRs.getDouble("rent_rate_1day"),
-                    cosplaysRs.getDouble("rent_rate_2days"),
-                    cosplaysRs.getDouble("rent_rate_3days"),
-                    cosplaysRs.getString("add_ons") != null ? "'" + escapeSql(cosplaysRs.getString("add_ons")) + "'" : "NULL"));
-            }
-            sql.append("\n");
-            
-            // Export Featured Images
-            sql.append("-- Featured Images\n");
-            var featuredStmt = conn.createStatement();
-            var featuredRs = featuredStmt.executeQuery("SELECT * FROM featured_images WHERE image_url IS NOT NULL");
-            while (featuredRs.next()) {
-                sql.append(String.format("INSERT OR IGNORE INTO featured_images (slot, image_url, title, cosplay_id) VALUES (%d, '%s', '%s', %s);\n",
-                    featuredRs.getInt("slot"),
-                    escapeSql(featuredRs.getString("image_url")),
-                    escapeSql(featuredRs.getString("title")),
-                    featuredRs.getObject("cosplay_id") != null ? featuredRs.getInt("cosplay_id") : "NULL"));
-            }
-            sql.append("\n");
-            
-            // Export Event Banners
-            sql.append("-- Event Banners\n");
-            var bannersStmt = conn.createStatement();
-            var bannersRs = bannersStmt.executeQuery("SELECT * FROM event_banners");
-            while (bannersRs.next()) {
-                sql.append(String.format("INSERT OR IGNORE INTO event_banners (id, title, message, is_active, background_color, text_color, subtitle, image_path, event_name, venue, onsite_rent_date) VALUES (%d, '%s', '%s', %d, '%s', '%s', %s, %s, %s, %s, %s);\n",
-                    bannersRs.getInt("id"),
-                    escapeSql(bannersRs.getString("title")),
-                    escapeSql(bannersRs.getString("message")),
-                    bannersRs.getInt("is_active"),
-                    escapeSql(bannersRs.getString("background_color")),
-                    escapeSql(bannersRs.getString("text_color")),
-                    toSqlString(bannersRs.getString("subtitle")),
-                    toSqlString(bannersRs.getString("image_path")),
-                    toSqlString(bannersRs.getString("event_name")),
-                    toSqlString(bannersRs.getString("venue")),
-                    toSqlString(bannersRs.getString("onsite_rent_date"))));
-            }
-            
-            // Write to file
-            String outputPath = "src/main/resources/db/seed_data.sql";
-            java.nio.file.Files.writeString(java.nio.file.Paths.get(outputPath), sql.toString());
-            System.out.println("✓ Database exported to " + outputPath);
+        Path outputPath = Paths.get("src/main/resources/db/seed_data.sql");
+        try {
+            long rows = SqlExporter.export(outputPath, SqlExporter.DEFAULT_TABLES, false);
+            System.out.println("✓ Database exported to " + outputPath + " (" + rows + " rows)");
             System.out.println("You can now commit this file to Git!");
-            
         } catch (Exception e) {
             System.err.println("Failed to export data: " + e.getMessage());
             e.printStackTrace();
         }
     }
-    
-    private static String escapeSql(String value) {
-        if (value == null) return "";
-        return value.replace("'", "''");
-    }
-    
-    private static String toSqlString(String value) {
-        return value != null ? "'" + escapeSql(value) + "'" : "NULL";
-    }
 }
 
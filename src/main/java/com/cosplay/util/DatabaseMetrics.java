@@ -0,0 +1,53 @@
+package com.cosplay.util;
+
+/**
+ * Point-in-time view of the connection pools and the SQLite file, from
+ * {@link PerformanceConfig#getDatabaseMetrics()}. Cheap enough to poll every second or so.
+ *
+ * @param pageCount     pages in the main database file
+ * @param pageSize      bytes per page
+ * @param freePages     unused pages that VACUUM would reclaim
+ * @param walBytes      current size of the -wal file (0 outside WAL mode)
+ * @param writeLocks    write transactions that got the write lock
+ * @param writeLockWaitP95Ms 95th percentile wait from asking for the writer until BEGIN IMMEDIATE
+ *                      held the lock, covering both the writer pool queue and other processes
+ * @param writeLockWaitMaxMs longest such wait
+ * @param busyRetries   writes retried after SQLITE_BUSY/SQLITE_LOCKED
+ * @param busyFailures  writes that gave up after the last retry
+ */
+public record DatabaseMetrics(Pool writer, Pool reader, long pageCount, long pageSize, long freePages,
+                              long walBytes, long writeLocks, double writeLockWaitP95Ms, double writeLockWaitMaxMs,
+                              long busyRetries, long busyFailures) {
+
+    /**
+     * Live numbers for one HikariCP pool. Acquire times are how long callers waited in
+     * {@code getConnection()}; usage is how long they held the connection.
+     *
+     * @param waiting            threads currently blocked waiting for a connection
+     * @param connectionsCreated every physical connection the pool has opened, the initial fill included;
+     *                           growth past {@code max} is churn
+     * @param timeouts           borrows that gave up after the connection timeout
+     */
+    public record Pool(String name, int active, int idle, int total, int max, int waiting,
+                       long acquired, double acquireP50Ms, double acquireP95Ms, double acquireP99Ms,
+                       double acquireMaxMs, double usageP95Ms, long connectionsCreated, long timeouts) {
+        @Override
+        public String toString() {
+            return String.format("%s: %d active, %d idle, %d/%d open, %d waiting; acquire p50 %.2f ms p95 %.2f ms p99 %.2f ms max %.2f ms (%d borrows); held p95 %.0f ms; %d opened, %d timeouts",
+                    name, active, idle, total, max, waiting, acquireP50Ms, acquireP95Ms, acquireP99Ms,
+                    acquireMaxMs, acquired, usageP95Ms, connectionsCreated, timeouts);
+        }
+    }
+
+    public long databaseBytes() {
+        return pageCount * pageSize;
+    }
+
+    @Override
+    public String toString() {
+        return writer + "\n" + reader + "\n"
+                + String.format("database %d KB (%d free pages), WAL %d KB%n", databaseBytes() / 1024, freePages, walBytes / 1024)
+                + String.format("write lock wait p95 %.2f ms max %.2f ms (%d locks), busy retries %d, busy failures %d",
+                        writeLockWaitP95Ms, writeLockWaitMaxMs, writeLocks, busyRetries, busyFailures);
+    }
+}
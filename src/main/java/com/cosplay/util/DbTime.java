@@ -0,0 +1,51 @@
+package com.cosplay.util;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+
+/**
+ * Integer encodings used for dates and timestamps in the database.
+ *
+ * Dates (rental start/end) are stored as epoch days, timestamps (messages,
+ * conversations) as epoch milliseconds. Both sort and range-compare as plain
+ * integers, so index range scans work and mapping a row needs no string parsing.
+ * Timestamps are interpreted in the system time zone, matching LocalDateTime.now().
+ */
+public final class DbTime {
+    private static final ZoneId ZONE = ZoneId.systemDefault();
+
+    // Rental dates fall within a few years of today; those days share one LocalDate each
+    // instead of every mapped row allocating its own. Filled lazily; LocalDate is immutable,
+    // so two threads filling the same slot is harmless
+    private static final long FIRST_SHARED_DAY = LocalDate.now().toEpochDay() - 3 * 366;
+    private static final LocalDate[] SHARED_DAYS = new LocalDate[6 * 366];
+
+    private DbTime() { }
+
+    public static long toEpochDay(LocalDate date) {
+        return date.toEpochDay();
+    }
+
+    public static LocalDate fromEpochDay(long epochDay) {
+        long slot = epochDay - FIRST_SHARED_DAY;
+        if (slot < 0 || slot >= SHARED_DAYS.length) {
+            return LocalDate.ofEpochDay(epochDay);
+        }
+        LocalDate date = SHARED_DAYS[(int) slot];
+        if (date == null) {
+            date = LocalDate.ofEpochDay(epochDay);
+            SHARED_DAYS[(int) slot] = date;
+        }
+        return date;
+    }
+
+    public static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZONE).toInstant().toEpochMilli();
+    }
+
+    public static LocalDateTime fromEpochMillis(long epochMillis) {
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(epochMillis), ZONE);
+    }
+}
@@ -71,7 +71,7 @@ public class ImageCache {
         }
         
         // Create a cache key with dimensions
-        String cacheKey = imagePath + "_" + requestedWidth + "x" + requestedHeight;
+        String cacheKey = scaledKey(imagePath, requestedWidth, requestedHeight);
         
         // Check cache
         SoftReference<Image> ref = cache.get(cacheKey);
@@ -103,6 +103,23 @@ public class ImageCache {
         return null;
     }
     
+    /**
+     * Get a scaled image only if it is already cached
+     * @return the cached image, or null if it would have to be loaded
+     */
+    public static Image getCachedScaled(String imagePath, double requestedWidth, double requestedHeight) {
+        if (imagePath == null || imagePath.isBlank()) {
+            return null;
+        }
+        SoftReference<Image> ref = cache.get(scaledKey(imagePath, requestedWidth, requestedHeight));
+        Image cachedImage = ref != null ? ref.get() : null;
+        return cachedImage != null && !cachedImage.isError() ? cachedImage : null;
+    }
+    
+    static String scaledKey(String imagePath, double requestedWidth, double requestedHeight) {
+        return imagePath + "_" + requestedWidth + "x" + requestedHeight;
+    }
+    
     private static Image loadImage(String imagePath, boolean backgroundLoading) {
         // Handle HTTP/HTTPS URLs
         if (imagePath.startsWith("http://") || imagePath.startsWith("https://")) {
@@ -0,0 +1,251 @@
+package com.cosplay.util;
+
+import javafx.application.Platform;
+import javafx.scene.image.Image;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Loads scaled images on a small fixed pool of worker threads, visible images first.
+ *
+ * Requests wait in one priority queue: {@link Priority#VISIBLE} before {@link Priority#PREFETCH},
+ * oldest first within a priority. Requests for the same image share one decode, and a visible
+ * request promotes a queued prefetch of the same image. A cancelled request never gets its
+ * callback; once no request wants an image, it leaves the queue without being decoded.
+ * Cached images are handed back at once without queueing.
+ *
+ * Callbacks run on the FX thread (or the worker, outside a running JavaFX app), so they can
+ * touch the scene graph. Call {@link Request#cancel()} from the FX thread to be sure the
+ * callback won't run afterwards.
+ */
+public final class ImageLoader {
+
+    public enum Priority { VISIBLE, PREFETCH }
+
+    /** One caller's interest in an image. */
+    public static final class Request {
+        private final Job job;
+        private final Consumer<Image> onLoaded;
+        private volatile boolean cancelled;
+        private volatile boolean done;
+
+        private Request(Job job, Consumer<Image> onLoaded) {
+            this.job = job;
+            this.onLoaded = onLoaded;
+        }
+
+        /** The image is no longer wanted; its callback will not run. */
+        public void cancel() {
+            if (cancelled) return;
+            cancelled = true;
+            done = true;
+            if (job != null) ImageLoader.release(this);
+        }
+
+        /** Delivered or cancelled; nothing is left to wait for. */
+        public boolean isDone() {
+            return done;
+        }
+    }
+
+    private static final class Job implements Comparable<Job> {
+        final String path;
+        final double width;
+        final double height;
+        final String key;
+        final long sequence;
+        final long queuedAt = System.nanoTime();
+        final List<Request> requests = new ArrayList<>(1);
+        Priority priority;
+        boolean started;
+
+        Job(String path, double width, double height, String key, long sequence, Priority priority) {
+            this.path = path;
+            this.width = width;
+            this.height = height;
+            this.key = key;
+            this.sequence = sequence;
+            this.priority = priority;
+        }
+
+        @Override
+        public int compareTo(Job other) {
+            int byPriority = priority.compareTo(other.priority);
+            return byPriority != 0 ? byPriority : Long.compare(sequence, other.sequence);
+        }
+    }
+
+    private static final int WORKERS = PerformanceConfig.IMAGE_LOADER_THREADS;
+
+    // Guarded by LOCK
+    private static final Object LOCK = new Object();
+    private static final PriorityQueue<Job> queue = new PriorityQueue<>();
+    private static final Map<String, Job> jobs = new HashMap<>(); // queued or decoding, by cache key
+    private static long sequence;
+    private static int maxQueueDepth;
+    private static int active;
+
+    private static final AtomicLong requested = new AtomicLong();
+    private static final AtomicLong cacheHits = new AtomicLong();
+    private static final AtomicLong decoded = new AtomicLong();
+    private static final AtomicLong dropped = new AtomicLong();
+    private static final LatencyHistogram queueWait = new LatencyHistogram();
+
+    static {
+        for (int i = 0; i < WORKERS; i++) {
+            Thread worker = new Thread(ImageLoader::work, "cosplay-image-" + i);
+            worker.setDaemon(true);
+            worker.setPriority(Thread.NORM_PRIORITY - 1); // leave the FX thread ahead
+            worker.start();
+        }
+    }
+
+    private ImageLoader() {}
+
+    /**
+     * Load {@code path} scaled to fit width x height and pass it to {@code onLoaded}, or null
+     * if it can't be loaded. Returns the request to cancel when the image is no longer wanted.
+     */
+    public static Request load(String path, double width, double height, Priority priority, Consumer<Image> onLoaded) {
+        requested.incrementAndGet();
+        Image cached = ImageCache.getCachedScaled(path, width, height);
+        if (cached != null) {
+            cacheHits.incrementAndGet();
+            Request done = new Request(null, onLoaded);
+            deliver(List.of(done), cached);
+            return done;
+        }
+        String key = ImageCache.scaledKey(path, width, height);
+        synchronized (LOCK) {
+            Job job = jobs.get(key);
+            if (job == null) {
+                job = new Job(path, width, height, key, sequence++, priority);
+                jobs.put(key, job);
+                queue.add(job);
+                maxQueueDepth = Math.max(maxQueueDepth, queue.size());
+                LOCK.notify();
+            } else if (!job.started && priority.compareTo(job.priority) < 0) {
+                // Wanted on screen now; move it ahead of the prefetches
+                queue.remove(job);
+                job.priority = priority;
+                queue.add(job);
+            }
+            Request request = new Request(job, onLoaded);
+            job.requests.add(request);
+            return request;
+        }
+    }
+
+    /** Decode {@code path} into the image cache ahead of time, behind every visible image. */
+    public static Request prefetch(String path, double width, double height) {
+        return load(path, width, height, Priority.PREFETCH, null);
+    }
+
+    private static void release(Request request) {
+        synchronized (LOCK) {
+            Job job = request.job;
+            job.requests.remove(request);
+            if (job.requests.isEmpty() && !job.started) {
+                queue.remove(job);
+                jobs.remove(job.key);
+                dropped.incrementAndGet();
+            }
+        }
+    }
+
+    private static void work() {
+        while (true) {
+            Job job;
+            synchronized (LOCK) {
+                while (queue.isEmpty()) {
+                    try {
+                        LOCK.wait();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                }
+                job = queue.poll();
+                job.started = true;
+                active++;
+            }
+            queueWait.record(System.nanoTime() - job.queuedAt);
+            Image image = null;
+            try {
+                // Decode here rather than on JavaFX's own loader, so the pool size really bounds the work
+                image = ImageCache.getImageScaled(job.path, job.width, job.height, false);
+                decoded.incrementAndGet();
+            } catch (Throwable t) {
+                System.err.println("Failed to load image: " + job.path + " - " + t);
+            }
+            List<Request> waiting;
+            synchronized (LOCK) {
+                active--;
+                jobs.remove(job.key);
+                waiting = new ArrayList<>(job.requests);
+            }
+            deliver(waiting, image);
+        }
+    }
+
+    private static void deliver(List<Request> requests, Image image) {
+        onFxThread(() -> {
+            for (Request request : requests) {
+                if (!request.cancelled && request.onLoaded != null) {
+                    request.onLoaded.accept(image);
+                }
+                request.done = true;
+            }
+        });
+    }
+
+    private static void onFxThread(Runnable r) {
+        if (Platform.isFxApplicationThread()) {
+            r.run();
+            return;
+        }
+        try {
+            Platform.runLater(r);
+        } catch (IllegalStateException toolkitNotRunning) {
+            r.run();
+        }
+    }
+
+    /** Images waiting for a worker. */
+    public static int getQueueDepth() {
+        synchronized (LOCK) {
+            return queue.size();
+        }
+    }
+
+    /** The most images ever waiting at once. */
+    public static int getMaxQueueDepth() {
+        synchronized (LOCK) {
+            return maxQueueDepth;
+        }
+    }
+
+    /** Images being decoded right now; never more than the worker count. */
+    public static int getActiveCount() {
+        synchronized (LOCK) {
+            return active;
+        }
+    }
+
+    public static int getWorkerCount() {
+        return WORKERS;
+    }
+
+    /** One line of counters for the console. */
+    public static String describe() {
+        return String.format("workers=%d, queued=%d (max %d), decoding=%d, requested=%d, cache hits=%d, decoded=%d, "
+                        + "dropped before decode=%d, queue wait p95=%.1f ms, max=%.1f ms",
+                WORKERS, getQueueDepth(), getMaxQueueDepth(), getActiveCount(), requested.get(), cacheHits.get(),
+                decoded.get(), dropped.get(), queueWait.percentileMs(0.95), queueWait.maxMs());
+    }
+}
@@ -0,0 +1,69 @@
+package com.cosplay.util;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free latency histogram with fixed, roughly logarithmic buckets from 100 µs to 1 s.
+ * Percentiles are reported as the upper bound of the bucket they fall in (capped at the
+ * largest value seen), which is precise enough to tell 1 ms from 10 ms from 100 ms.
+ */
+final class LatencyHistogram {
+
+    // Bucket upper bounds in microseconds; the last bucket is open-ended
+    private static final long[] BUCKET_MICROS = {
+        100, 250, 500, 1_000, 2_500, 5_000, 10_000, 25_000, 50_000, 100_000, 250_000, 500_000, 1_000_000
+    };
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_MICROS.length + 1);
+    private final AtomicLong count = new AtomicLong();
+    private final AtomicLong totalNanos = new AtomicLong();
+    private final AtomicLong maxNanos = new AtomicLong();
+
+    void record(long nanos) {
+        buckets.incrementAndGet(bucket(nanos / 1_000));
+        count.incrementAndGet();
+        totalNanos.addAndGet(nanos);
+        maxNanos.accumulateAndGet(nanos, Math::max);
+    }
+
+    long count() {
+        return count.get();
+    }
+
+    double totalMs() {
+        return totalNanos.get() / 1e6;
+    }
+
+    double meanMs() {
+        long n = count.get();
+        return n == 0 ? 0 : totalMs() / n;
+    }
+
+    double maxMs() {
+        return maxNanos.get() / 1e6;
+    }
+
+    /** @param p fraction between 0 and 1, e.g. 0.95 */
+    double percentileMs(double p) {
+        long n = count.get();
+        if (n == 0) return 0;
+        double max = maxMs();
+        long rank = (long) Math.ceil(n * p);
+        long seen = 0;
+        for (int i = 0; i < BUCKET_MICROS.length; i++) {
+            seen += buckets.get(i);
+            if (seen >= rank) {
+                return Math.min(BUCKET_MICROS[i] / 1000.0, max);
+            }
+        }
+        return max;
+    }
+
+    private static int bucket(long micros) {
+        for (int i = 0; i < BUCKET_MICROS.length; i++) {
+            if (micros < BUCKET_MICROS[i]) return i;
+        }
+        return BUCKET_MICROS.length;
+    }
+}
@@ -78,13 +78,15 @@ public class PasswordMigration {
     private static boolean updateUserPassword(int userId, String hashedPassword) {
         String sql = "UPDATE users SET password = ? WHERE user_id = ?";
         
-        try (Connection conn = Database.connect();
-             PreparedStatement ps = conn.prepareStatement(sql)) {
-            
-            ps.setString(1, hashedPassword);
-            ps.setInt(2, userId);
-            ps.executeUpdate();
-            return true;
+        try {
+            return Database.write(conn -> {
+                try (PreparedStatement ps = conn.prepareStatement(sql)) {
+                    ps.setString(1, hashedPassword);
+                    ps.setInt(2, userId);
+                    ps.executeUpdate();
+                    return true;
+                }
+            });
         } catch (SQLException e) {
             e.printStackTrace();
             return false;
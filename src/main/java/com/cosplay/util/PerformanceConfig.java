@@ -1,33 +1,120 @@
 package com.cosplay.util;
 
+import com.cosplay.dao.CatalogCache;
+import com.cosplay.dao.RentalDAO;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Locale;
+import java.util.Properties;
+
 /**
  * Performance configuration for the application.
- * Adjust these settings based on the target device capabilities.
+ *
+ * Values come from a {@link PerformanceProfile} picked for the device at startup, so the same
+ * build suits a kiosk and an admin workstation. Any value can be overridden, highest priority first:
+ *   1. a system property, e.g. -Dcosplay.profile=kiosk or -Dcosplay.imageCacheSize=50
+ *   2. an environment variable, e.g. COSPLAY_PROFILE=kiosk or COSPLAY_IMAGE_CACHE_SIZE=50
+ *   3. performance.properties in the working directory, e.g. profile=kiosk or imageCacheSize=50
+ *      (-Dcosplay.performance.file=... points somewhere else)
  */
 public class PerformanceConfig {
+    private static final Properties FILE_SETTINGS = loadSettingsFile();
+
+    // Device profile the values below start from
+    public static final PerformanceProfile PROFILE = resolveProfile();
+
     // Image cache settings
-    public static final int MAX_IMAGE_CACHE_SIZE = 100;
+    public static final int MAX_IMAGE_CACHE_SIZE = setting("imageCacheSize", PROFILE.imageCacheSize);
     
     // Image quality settings (higher = better quality, more memory)
-    public static final int CATALOG_IMAGE_WIDTH = 300;  // Higher than display size for quality
-    public static final int CATALOG_IMAGE_HEIGHT = 390;
-    public static final int FEATURED_IMAGE_WIDTH = 280;
-    public static final int FEATURED_IMAGE_HEIGHT = 400;
+    public static final int CATALOG_IMAGE_WIDTH = setting("catalogImageWidth", PROFILE.catalogImageWidth);
+    public static final int CATALOG_IMAGE_HEIGHT = setting("catalogImageHeight", PROFILE.catalogImageHeight);
+    public static final int FEATURED_IMAGE_WIDTH = setting("featuredImageWidth", PROFILE.featuredImageWidth);
+    public static final int FEATURED_IMAGE_HEIGHT = setting("featuredImageHeight", PROFILE.featuredImageHeight);
     public static final boolean HIGH_QUALITY_SCALING = true; // Use smooth scaling
     
     // Catalog pagination
-    public static final int CATALOG_ITEMS_PER_PAGE = 20;
+    public static final int CATALOG_ITEMS_PER_PAGE = setting("catalogItemsPerPage", PROFILE.catalogItemsPerPage);
     
-    // Database connection pool
-    public static final int DB_POOL_MAX_SIZE = 10;
-    public static final int DB_POOL_MIN_IDLE = 2;
+    // Database reader pool (the writer pool is always one connection)
+    public static final int DB_POOL_MAX_SIZE = setting("dbReaderPoolSize", PROFILE.dbReaderPoolSize);
+    public static final int DB_POOL_MIN_IDLE = Math.min(DB_POOL_MAX_SIZE, setting("dbReaderMinIdle", PROFILE.dbReaderMinIdle));
     
     // Image loading settings
+    public static final int IMAGE_LOADER_THREADS = setting("imageLoaderThreads", PROFILE.imageLoaderThreads);
     public static final boolean ASYNC_IMAGE_LOADING = true;
     public static final boolean SCALE_IMAGES_ON_LOAD = true;
     
     // UI refresh rates (milliseconds)
     public static final int UI_UPDATE_DELAY = 100;
+
+    private static PerformanceProfile resolveProfile() {
+        String name = lookup("profile");
+        PerformanceProfile profile = null;
+        if (name != null) {
+            try {
+                profile = PerformanceProfile.fromName(name);
+            } catch (IllegalArgumentException e) {
+                System.err.println(e.getMessage() + "; detecting instead");
+                name = null;
+            }
+        }
+        if (profile == null) {
+            profile = PerformanceProfile.detect();
+        }
+        System.out.println("Performance profile: " + profile + (name != null ? " (configured)" : " (detected)")
+                + " on " + PerformanceProfile.describeMachine());
+        return profile;
+    }
+
+    private static int setting(String key, int profileDefault) {
+        String value = lookup(key);
+        if (value == null) {
+            return profileDefault;
+        }
+        try {
+            int parsed = Integer.parseInt(value.trim());
+            if (parsed > 0) {
+                return parsed;
+            }
+        } catch (NumberFormatException ignored) {
+        }
+        System.err.println("Ignoring invalid performance setting " + key + "=" + value);
+        return profileDefault;
+    }
+
+    private static String lookup(String key) {
+        String value = System.getProperty("cosplay." + key);
+        if (value == null) {
+            value = System.getenv(envName(key));
+        }
+        if (value == null) {
+            value = FILE_SETTINGS.getProperty(key);
+        }
+        return value == null || value.isBlank() ? null : value;
+    }
+
+    // imageCacheSize -> COSPLAY_IMAGE_CACHE_SIZE
+    private static String envName(String key) {
+        return "COSPLAY_" + key.replaceAll("([a-z])([A-Z])", "$1_$2").toUpperCase(Locale.ROOT);
+    }
+
+    private static Properties loadSettingsFile() {
+        Properties props = new Properties();
+        Path file = Paths.get(System.getProperty("cosplay.performance.file", "performance.properties"));
+        if (Files.isRegularFile(file)) {
+            try (InputStream in = Files.newInputStream(file)) {
+                props.load(in);
+            } catch (IOException e) {
+                System.err.println("Failed to read " + file + ": " + e.getMessage());
+            }
+        }
+        return props;
+    }
     
     /**
      * Get memory usage in MB
@@ -64,6 +151,42 @@ public class PerformanceConfig {
         System.out.println("========================");
     }
     
+    /**
+     * Get live connection pool and database file metrics
+     */
+    public static DatabaseMetrics getDatabaseMetrics() {
+        return Database.getMetrics();
+    }
+
+    /**
+     * Print connection pool and database statistics to console
+     */
+    public static void logDatabaseStats() {
+        System.out.println("=== Database Statistics ===");
+        System.out.println(getDatabaseMetrics());
+        System.out.println("Booking conflicts: " + RentalDAO.getBookingConflictCount());
+        System.out.println("===========================");
+    }
+
+    /**
+     * Print catalog cache statistics to console
+     */
+    public static void logCatalogCacheStats() {
+        System.out.println("=== Catalog Cache ===");
+        System.out.println("Cosplays: " + CatalogCache.size());
+        System.out.println("Hits: " + CatalogCache.getHitCount() + ", misses: " + CatalogCache.getMissCount());
+        System.out.println("=====================");
+    }
+
+    /**
+     * Print image loader queue statistics to console
+     */
+    public static void logImageLoaderStats() {
+        System.out.println("=== Image Loader ===");
+        System.out.println(ImageLoader.describe());
+        System.out.println("====================");
+    }
+
     /**
      * Request garbage collection (use sparingly)
      */
@@ -0,0 +1,87 @@
+package com.cosplay.util;
+
+import java.util.Locale;
+
+/**
+ * Default limits for the three kinds of machine the app runs on. {@link PerformanceConfig}
+ * picks one at startup from the core count, max heap and screen size, and lets each
+ * value be overridden individually.
+ */
+public enum PerformanceProfile {
+    //         cache  page  catalog img  featured img  readers  min idle  image threads
+    KIOSK(      40,   12,   194, 254,    280, 400,      4,       1,        2),
+    DESK(      100,   20,   300, 390,    280, 400,     10,       2,        3),
+    ADMIN(     300,   40,   300, 390,    420, 600,     16,       4,        4);
+
+    final int imageCacheSize;
+    final int catalogItemsPerPage;
+    final int catalogImageWidth;
+    final int catalogImageHeight;
+    final int featuredImageWidth;
+    final int featuredImageHeight;
+    final int dbReaderPoolSize;
+    final int dbReaderMinIdle;
+    final int imageLoaderThreads;
+
+    // Set by the launcher before PerformanceConfig is first used; 0 when there is no screen (tools)
+    private static volatile double screenWidth;
+    private static volatile double screenHeight;
+
+    PerformanceProfile(int imageCacheSize, int catalogItemsPerPage,
+                       int catalogImageWidth, int catalogImageHeight,
+                       int featuredImageWidth, int featuredImageHeight,
+                       int dbReaderPoolSize, int dbReaderMinIdle, int imageLoaderThreads) {
+        this.imageCacheSize = imageCacheSize;
+        this.catalogItemsPerPage = catalogItemsPerPage;
+        this.catalogImageWidth = catalogImageWidth;
+        this.catalogImageHeight = catalogImageHeight;
+        this.featuredImageWidth = featuredImageWidth;
+        this.featuredImageHeight = featuredImageHeight;
+        this.dbReaderPoolSize = dbReaderPoolSize;
+        this.dbReaderMinIdle = dbReaderMinIdle;
+        this.imageLoaderThreads = imageLoaderThreads;
+    }
+
+    /**
+     * Record the primary screen size so detection can take it into account.
+     * Must be called before anything reads {@link PerformanceConfig}.
+     */
+    public static void setScreenSize(double width, double height) {
+        screenWidth = width;
+        screenHeight = height;
+    }
+
+    /**
+     * Pick a profile for this machine:
+     * KIOSK for 2 cores or fewer, a heap under 1.5 GB, or a screen narrower than 1366 px;
+     * ADMIN for 8+ cores with a heap of 4 GB or more (and a full-HD screen, if known);
+     * DESK otherwise.
+     */
+    static PerformanceProfile detect() {
+        int cores = Runtime.getRuntime().availableProcessors();
+        long heapMb = Runtime.getRuntime().maxMemory() / (1024 * 1024);
+        boolean screenKnown = screenWidth > 0;
+
+        if (cores <= 2 || heapMb < 1536 || (screenKnown && screenWidth < 1366)) {
+            return KIOSK;
+        }
+        if (cores >= 8 && heapMb >= 4096 && (!screenKnown || screenWidth >= 1920)) {
+            return ADMIN;
+        }
+        return DESK;
+    }
+
+    static String describeMachine() {
+        return Runtime.getRuntime().availableProcessors() + " cores, "
+                + Runtime.getRuntime().maxMemory() / (1024 * 1024) + " MB max heap, "
+                + (screenWidth > 0 ? (int) screenWidth + "x" + (int) screenHeight + " screen" : "no screen");
+    }
+
+    static PerformanceProfile fromName(String name) {
+        try {
+            return valueOf(name.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown performance profile: " + name + " (use kiosk, desk or admin)");
+        }
+    }
+}
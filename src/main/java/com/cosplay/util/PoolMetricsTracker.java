@@ -0,0 +1,44 @@
+package com.cosplay.util;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Receives HikariCP's per-connection callbacks for one pool: how long callers waited
+ * for a connection, how long they held it, how many physical connections were opened
+ * (churn) and how many borrows timed out.
+ */
+final class PoolMetricsTracker implements MetricsTrackerFactory, IMetricsTracker {
+    final LatencyHistogram acquire = new LatencyHistogram();
+    final LatencyHistogram usage = new LatencyHistogram();
+    final AtomicLong created = new AtomicLong();
+    final AtomicLong timeouts = new AtomicLong();
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        return this;
+    }
+
+    @Override
+    public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+        acquire.record(elapsedAcquiredNanos);
+    }
+
+    @Override
+    public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+        usage.record(elapsedBorrowedMillis * 1_000_000);
+    }
+
+    @Override
+    public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+        created.incrementAndGet();
+    }
+
+    @Override
+    public void recordConnectionTimeout() {
+        timeouts.incrementAndGet();
+    }
+}
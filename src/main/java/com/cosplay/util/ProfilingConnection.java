@@ -0,0 +1,150 @@
+package com.cosplay.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * JDBC wrappers that time statements for {@link SqlProfiler}.
+ *
+ * A query is measured in two phases: execute (until executeQuery returns) and fetch
+ * (from there until the result set is finished with, i.e. its statement is closed or
+ * re-executed, or the connection is returned). Result sets themselves are not wrapped,
+ * because a proxy on every column getter costs more than the rows it would measure.
+ * Updates and batches only have an execute phase.
+ */
+final class ProfilingConnection implements InvocationHandler {
+    private final Connection target;
+    private final List<StatementHandler> statements = new ArrayList<>();
+
+    private ProfilingConnection(Connection target) {
+        this.target = target;
+    }
+
+    static Connection wrap(Connection conn) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new ProfilingConnection(conn));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        if (name.equals("close")) {
+            // Statements left open are closed by the pool; count their queries now
+            for (StatementHandler statement : statements) {
+                statement.finishFetch();
+            }
+            statements.clear();
+            return call(target, method, args);
+        }
+
+        Object result = call(target, method, args);
+        if (result instanceof PreparedStatement ps && name.startsWith("prepare")) {
+            return Proxy.newProxyInstance(
+                PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class },
+                track(new StatementHandler(ps, (String) args[0])));
+        }
+        if (result instanceof Statement stmt && name.equals("createStatement")) {
+            return Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[] { Statement.class },
+                track(new StatementHandler(stmt, null)));
+        }
+        return result;
+    }
+
+    private StatementHandler track(StatementHandler statement) {
+        statements.add(statement);
+        return statement;
+    }
+
+    private static Object call(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Times executes. Prepared statements know their SQL up front; plain statements get it per call.
+     */
+    private static final class StatementHandler implements InvocationHandler {
+        private final Statement target;
+        private final String preparedSql;
+        private String batchSql;
+
+        // The query whose result set is still being read, if any
+        private String fetchSql;
+        private long fetchExecuteNanos;
+        private long fetchStart;
+
+        StatementHandler(Statement target, String preparedSql) {
+            this.target = target;
+            this.preparedSql = preparedSql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("close")) {
+                finishFetch();
+                return call(target, method, args);
+            }
+            if (name.equals("addBatch") && args != null && args.length == 1 && args[0] instanceof String sql) {
+                if (batchSql == null) batchSql = sql;
+            }
+            if (!name.startsWith("execute")) {
+                return call(target, method, args);
+            }
+
+            finishFetch();
+            String sql = args != null && args.length > 0 && args[0] instanceof String s ? s : preparedSql;
+            if (name.equals("executeBatch") || name.equals("executeLargeBatch")) {
+                sql = preparedSql != null ? preparedSql : batchSql;
+                batchSql = null;
+            }
+
+            long start = System.nanoTime();
+            Object result = call(target, method, args);
+            long end = System.nanoTime();
+
+            if (result instanceof ResultSet) {
+                fetchSql = sql;
+                fetchExecuteNanos = end - start;
+                fetchStart = end;
+            } else {
+                SqlProfiler.record(sql, end - start, 0, rowCount(result));
+            }
+            return result;
+        }
+
+        void finishFetch() {
+            if (fetchSql != null) {
+                SqlProfiler.record(fetchSql, fetchExecuteNanos, System.nanoTime() - fetchStart, 0);
+                fetchSql = null;
+            }
+        }
+
+        private static long rowCount(Object result) {
+            if (result instanceof Integer n) return Math.max(0, n);
+            if (result instanceof Long n) return Math.max(0, n);
+            if (result instanceof int[] counts) {
+                long sum = 0;
+                for (int n : counts) sum += Math.max(0, n);
+                return sum;
+            }
+            return 0;
+        }
+    }
+}
@@ -0,0 +1,389 @@
+package com.cosplay.util;
+
+import com.cosplay.dao.CosplayCriteria;
+import com.cosplay.dao.CosplayDAO;
+import com.cosplay.dao.CosplaySort;
+import com.cosplay.dao.EventBannerDAO;
+import com.cosplay.dao.FeaturedDAO;
+import com.cosplay.dao.MessageDAO;
+import com.cosplay.dao.Page;
+import com.cosplay.dao.RentalDAO;
+import com.cosplay.dao.UserDAO;
+import com.cosplay.model.Cosplay;
+import com.cosplay.model.EventBanner;
+import com.cosplay.model.FeaturedItem;
+import com.cosplay.model.Message;
+import com.cosplay.model.Rental;
+import com.cosplay.model.User;
+
+import java.io.File;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Query plan regression check for the DAO layer.
+ *
+ * Builds a scratch database with a large synthetic dataset, runs every DAO method
+ * once while recording the SQL they issue, then runs {@code EXPLAIN QUERY PLAN} on
+ * each distinct statement. Any filtered statement (one with a WHERE clause) whose
+ * plan contains a full table SCAN fails the check, unless it is a LIMIT query that
+ * reads an index in its ORDER BY order.
+ *
+ * When you add a DAO method, add a call to it in {@link #exerciseDaos()}.
+ *
+ * Usage: mvn compile exec:java -Dexec.mainClass="com.cosplay.util.QueryPlanCheck"
+ * Exits with status 1 if any query regressed.
+ */
+public class QueryPlanCheck {
+
+    private static final int COSPLAYS = 20_000;
+    private static final int USERS = 5_000;
+    private static final int RENTALS = 200_000;
+    private static final int CONVERSATIONS = 2_000;
+    private static final int MESSAGES = 100_000;
+    private static final int BANNERS = 500;
+
+    /**
+     * Statements that are allowed to scan even though they are filtered, with the reason.
+     * Keep this list short; every entry is a known slow path.
+     */
+    private static final Map<String, String> KNOWN_SCANS = Map.of(
+            "SELECT rental_id, cosplay_id, start_date, end_date FROM rentals " +
+            "WHERE status IN ('Pending','Confirmed','Rented') ORDER BY cosplay_id",
+            "loads every active rental once into AvailabilityIndex, from the partial idx_rentals_active",
+            "SELECT * FROM cosplays WHERE NOT EXISTS (SELECT 1 FROM rentals r WHERE r.cosplay_id = cosplays.cosplay_id " +
+            "AND r.status IN ('Pending','Confirmed','Rented') AND r.end_date >= ? AND r.start_date <= ?) " +
+            "ORDER BY cosplay_id LIMIT ?",
+            "first page of the \"free between dates\" filter in default order: reads cosplays in rowid order, " +
+            "one idx_rentals_active seek each, and stops at LIMIT");
+
+    public static void main(String[] args) throws Exception {
+        File dbFile = File.createTempFile("cosplay-plan-check", ".db");
+        dbFile.deleteOnExit();
+        new File(dbFile.getPath() + "-wal").deleteOnExit();
+        new File(dbFile.getPath() + "-shm").deleteOnExit();
+        System.setProperty("cosplay.db.path", dbFile.getPath());
+
+        int failures;
+        try {
+            Database.init();
+            System.out.println("Generating synthetic dataset...");
+            populate();
+
+            Set<String> statements = new LinkedHashSet<>();
+            Database.setSqlListener(sql -> {
+                synchronized (statements) {
+                    statements.add(sql);
+                }
+            });
+            try {
+                exerciseDaos();
+            } finally {
+                Database.setSqlListener(null);
+            }
+
+            failures = explainAll(statements);
+        } finally {
+            Session.clear();
+            Database.close();
+        }
+
+        if (failures > 0) {
+            System.err.println("\n" + failures + " DAO statement(s) fall back to a full table scan.");
+            System.exit(1);
+        }
+        System.out.println("\nAll DAO statements use an index or are intentional full listings.");
+    }
+
+    /**
+     * Fill the scratch database and refresh planner statistics.
+     */
+    private static void populate() throws SQLException {
+        Random random = new Random(42);
+        String[] categories = { "Anime", "Game", "Movie", "Original" };
+        String[] statuses = { "Pending", "Confirmed", "Rented", "Returned", "Cancelled" };
+
+        Database.write(conn -> {
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO cosplays(name, category, series_name, size, description, rent_rate_1day) VALUES (?, ?, ?, ?, ?, ?)")) {
+                for (int i = 1; i <= COSPLAYS; i++) {
+                    ps.setString(1, "Cosplay " + i);
+                    ps.setString(2, categories[i % categories.length]);
+                    ps.setString(3, "Series " + (i % 400));
+                    ps.setString(4, "M");
+                    ps.setString(5, "Synthetic costume " + i);
+                    ps.setDouble(6, 300 + (i % 50) * 10);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO users(username, password, email, role, email_verified, verification_token, oauth_provider, oauth_id) VALUES (?, NULL, ?, 'customer', ?, ?, ?, ?)")) {
+                for (int i = 1; i <= USERS; i++) {
+                    ps.setString(1, "user" + i);
+                    ps.setString(2, "user" + i + "@example.com");
+                    ps.setInt(3, i % 3 == 0 ? 0 : 1);
+                    ps.setString(4, i % 3 == 0 ? "token-" + i : null);
+                    ps.setString(5, i % 2 == 0 ? "google" : null);
+                    ps.setString(6, i % 2 == 0 ? "oauth-" + i : null);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+
+            LocalDate base = LocalDate.of(2024, 1, 1);
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO rentals(cosplay_id, customer_name, start_date, end_date, rent_days, status) VALUES (?, ?, ?, ?, ?, ?)")) {
+                for (int i = 1; i <= RENTALS; i++) {
+                    LocalDate start = base.plusDays(random.nextInt(900));
+                    int days = 1 + random.nextInt(3);
+                    ps.setInt(1, 1 + random.nextInt(COSPLAYS));
+                    ps.setString(2, "Customer " + i);
+                    ps.setLong(3, DbTime.toEpochDay(start));
+                    ps.setLong(4, DbTime.toEpochDay(start.plusDays(days - 1)));
+                    ps.setInt(5, days);
+                    ps.setString(6, statuses[random.nextInt(statuses.length)]);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+
+            LocalDateTime t0 = LocalDateTime.of(2024, 1, 1, 9, 0);
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO conversations(user_id, user_name, user_email, last_message, last_message_time, unread_count, created_at) VALUES (?, ?, ?, 'hi', ?, 0, ?)")) {
+                for (int i = 1; i <= CONVERSATIONS; i++) {
+                    ps.setInt(1, i);
+                    ps.setString(2, "user" + i);
+                    ps.setString(3, "user" + i + "@example.com");
+                    ps.setLong(4, DbTime.toEpochMillis(t0.plusMinutes(i)));
+                    ps.setLong(5, DbTime.toEpochMillis(t0));
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO messages(conversation_id, sender_id, sender_name, message, timestamp, is_admin_reply, status) VALUES (?, ?, ?, ?, ?, ?, 'read')")) {
+                for (int i = 1; i <= MESSAGES; i++) {
+                    int conversation = 1 + random.nextInt(CONVERSATIONS);
+                    ps.setInt(1, conversation);
+                    ps.setInt(2, conversation);
+                    ps.setString(3, "user" + conversation);
+                    ps.setString(4, "Message " + i);
+                    ps.setLong(5, DbTime.toEpochMillis(t0.plusSeconds(i)));
+                    ps.setInt(6, i % 2);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT INTO event_banners(title, message, is_active) VALUES (?, ?, ?)")) {
+                for (int i = 1; i <= BANNERS; i++) {
+                    ps.setString(1, "Event " + i);
+                    ps.setString(2, "Convention week " + i);
+                    ps.setInt(3, i == BANNERS ? 1 : 0);
+                    ps.addBatch();
+                }
+                ps.executeBatch();
+            }
+            return null;
+        });
+
+        try (Connection conn = Database.connectWriter(); Statement stmt = conn.createStatement()) {
+            stmt.execute("ANALYZE");
+        }
+    }
+
+    /**
+     * Call every public DAO method once so their SQL is recorded.
+     */
+    private static void exerciseDaos() {
+        User admin = new User();
+        admin.setUsername("admin");
+        admin.setRole("admin");
+        Session.setCurrentUser(admin);
+
+        CosplayDAO cosplays = new CosplayDAO();
+        Cosplay c = new Cosplay("Plan Check", "Anime", "M", "check", null);
+        c.setSeriesName("Series 1");
+        c.setRentRate1Day(500.0);
+        cosplays.addCosplay(c);
+        cosplays.getAll();
+        cosplays.findById(c.getId());
+        cosplays.findByIds(List.of(c.getId()));
+        cosplays.searchByCategory("Anime");
+        cosplays.updateCosplay(c);
+        cosplays.getDistinctCategories();
+        cosplays.getFacets();
+        for (CosplaySort sort : CosplaySort.values()) {
+            Page<Cosplay> first = cosplays.getPage(sort, null, 20);
+            cosplays.getPage(sort, first.next(), 20);
+            for (CosplayCriteria criteria : List.of(
+                    CosplayCriteria.ALL.withCategory("anime"),
+                    CosplayCriteria.ALL.withSeries("Series 1"),
+                    CosplayCriteria.ALL.withPriceRange(100.0, 500.0),
+                    CosplayCriteria.ALL.withFreeBetween(LocalDate.of(2030, 1, 10), LocalDate.of(2030, 1, 12)))) {
+                Page<Cosplay> filtered = cosplays.search(criteria.withSort(sort), null, 20);
+                cosplays.search(criteria.withSort(sort), filtered.next(), 20);
+            }
+        }
+        CosplayCriteria text = CosplayCriteria.ALL.withText("Cosplay 1");
+        cosplays.search(text, null, 20);
+        cosplays.search(text.withSort(CosplaySort.NAME_ASC), null, 20);
+        cosplays.search(text.withCategory("Anime"));
+        Page<Cosplay> ranked = cosplays.search(text.withSort(CosplaySort.RELEVANCE), null, 20);
+        cosplays.search(text.withSort(CosplaySort.RELEVANCE), ranked.next(), 20);
+        cosplays.fullTextSearch("cosplay", 20);
+
+        RentalDAO rentals = new RentalDAO();
+        LocalDate start = LocalDate.of(2030, 1, 10);
+        rentals.isAvailable(c.getId(), start, start.plusDays(2));
+        Rental r = new Rental();
+        r.setCosplayId(c.getId());
+        r.setCustomerName("Plan Check");
+        r.setStartDate(start);
+        r.setEndDate(start.plusDays(2));
+        r.setRentDays(3);
+        rentals.createRental(r);
+        rentals.getAllRentals();
+        Page<Rental> firstRentals = rentals.getRentalsPage(null, null, 50);
+        rentals.getRentalsPage(null, firstRentals.next(), 50);
+        rentals.getRentalsPage("Plan", firstRentals.next(), 50);
+        rentals.updateRentalStatus(r.getId(), "Confirmed");
+        rentals.getRentalsByCosplayId(c.getId());
+        rentals.getBookedDays(c.getId(), YearMonth.from(start));
+
+        UserDAO users = new UserDAO();
+        User u = new User();
+        u.setUsername("plancheck");
+        u.setPassword("secret");
+        u.setEmail("plancheck@example.com");
+        u.setVerificationToken("plan-token");
+        users.createUser(u);
+        users.login("plancheck", "secret");
+        users.usernameExists("plancheck");
+        users.emailExists("plancheck@example.com");
+        users.getUserByVerificationToken("plan-token");
+        users.verifyEmail("plan-token");
+        users.resendVerificationToken("plancheck@example.com");
+        users.getUserByEmail("plancheck@example.com");
+        users.setPasswordResetToken("plancheck@example.com", "reset-token");
+        users.resetPassword("reset-token", "secret2");
+        users.findOrCreateOAuthUser("google", "oauth-plan", "oauth-plan@example.com", "oauthplan");
+
+        MessageDAO messages = new MessageDAO();
+        int conversationId = messages.getOrCreateConversation(USERS + 1, "plancheck", "plancheck@example.com");
+        Message m = new Message();
+        m.setConversationId(conversationId);
+        m.setSenderId(USERS + 1);
+        m.setSenderName("plancheck");
+        m.setMessage("Is this available?");
+        m.setTimestamp(LocalDateTime.now());
+        m.setStatus("unread");
+        messages.sendMessage(m);
+        messages.getAllConversations();
+        messages.getConversationByUserId(USERS + 1);
+        messages.getMessagesByConversation(conversationId);
+        messages.markConversationAsRead(conversationId);
+        messages.getTotalUnreadCount();
+        messages.deleteConversation(conversationId);
+
+        FeaturedDAO featured = new FeaturedDAO();
+        featured.listAll();
+        featured.get(1);
+        FeaturedItem item = new FeaturedItem(1, null, "Plan Check");
+        item.setCosplayId(c.getId());
+        featured.save(item);
+        featured.delete(4);
+
+        EventBannerDAO banners = new EventBannerDAO();
+        banners.getActiveBanner();
+        banners.getAll();
+        EventBanner banner = new EventBanner();
+        banner.setTitle("Plan Check");
+        banner.setMessage("check");
+        banner.setActive(true);
+        banners.save(banner);
+        List<EventBanner> all = banners.getAll();
+        EventBanner saved = all.get(0);
+        banners.getById(saved.getId());
+        banners.save(saved);
+        banners.toggleActive(saved.getId());
+        banners.delete(saved.getId());
+
+        cosplays.deleteCosplay(c.getId());
+    }
+
+    /**
+     * Print the plan of every recorded statement and count the regressions.
+     */
+    private static int explainAll(Set<String> statements) throws SQLException {
+        int failures = 0;
+        try (Connection conn = Database.connect()) {
+            for (String sql : statements) {
+                List<String> plan = SqlProfiler.explainQueryPlan(conn, sql);
+                boolean filtered = sql.toUpperCase(Locale.ROOT).contains(" WHERE ");
+                List<String> scans = new ArrayList<>();
+                for (String detail : plan) {
+                    if (SqlProfiler.isFullScan(detail)) scans.add(detail);
+                }
+
+                String verdict;
+                if (!filtered || scans.isEmpty()) {
+                    verdict = "ok  ";
+                } else if (isLimitedIndexWalk(sql, scans, plan)) {
+                    verdict = "walk";
+                } else if (KNOWN_SCANS.containsKey(sql)) {
+                    verdict = "skip";
+                } else {
+                    verdict = "FAIL";
+                    failures++;
+                }
+
+                System.out.println("[" + verdict + "] " + sql);
+                for (String detail : plan) {
+                    System.out.println("         " + detail);
+                }
+                if (verdict.equals("walk")) {
+                    System.out.println("         (reads the sort index in order and stops at LIMIT)");
+                }
+                if (verdict.equals("skip")) {
+                    System.out.println("         (known scan: " + KNOWN_SCANS.get(sql) + ")");
+                }
+            }
+        }
+        return failures;
+    }
+
+    /**
+     * A page query whose only scan walks an index in ORDER BY order. SQLite picks this when
+     * the filter matches a large share of rows (one of a handful of categories), because
+     * reading rows already in order and stopping at LIMIT beats sorting them all. A bare
+     * table scan is never accepted here, since a filtered full scan is what this check is
+     * for; intended rowid-order scans go in KNOWN_SCANS.
+     */
+    private static boolean isLimitedIndexWalk(String sql, List<String> scans, List<String> plan) {
+        if (!sql.endsWith(" LIMIT ?") || plan.stream().anyMatch(d -> d.startsWith("USE TEMP B-TREE"))) {
+            return false;
+        }
+        return scans.stream().allMatch(d -> d.contains(" USING INDEX ") || d.contains(" USING COVERING INDEX ")
+                || d.contains(" USING INTEGER PRIMARY KEY"));
+    }
+
+    private QueryPlanCheck() { }
+}
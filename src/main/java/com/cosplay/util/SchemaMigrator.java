@@ -0,0 +1,500 @@
+package com.cosplay.util;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Versioned schema migrations.
+ *
+ * Applied versions are recorded in the {@code schema_version} table. On a warm start
+ * the only work is a single SELECT of the current version; pending migrations are
+ * applied in order inside one writer transaction, so a failed upgrade leaves the
+ * database untouched.
+ *
+ * To change the schema, append a new {@link Migration} with the next version number.
+ * Never edit a migration that has already shipped.
+ */
+public class SchemaMigrator {
+
+    /** One schema step. Runs inside the migration transaction. */
+    @FunctionalInterface
+    interface Step {
+        void apply(Connection conn) throws SQLException;
+    }
+
+    record Migration(int version, String description, Step step) { }
+
+    private static final List<Migration> MIGRATIONS = List.of(
+        new Migration(1, "Baseline schema, legacy renames and late-added columns", SchemaMigrator::baseline),
+        new Migration(2, "Secondary indexes for DAO lookups", SchemaMigrator::indexes),
+        new Migration(3, "Integer epoch-day rental dates and epoch-millis chat timestamps", SchemaMigrator::integerTimes),
+        new Migration(4, "Keyset pagination indexes for the catalog sorts", SchemaMigrator::keysetIndexes),
+        new Migration(5, "Indexes for catalog search filters", SchemaMigrator::searchIndexes),
+        new Migration(6, "Full-text search over the catalog", SchemaMigrator::catalogFullText),
+        new Migration(7, "Partial index of active rentals for the availability index", SchemaMigrator::activeRentalsIndex)
+    );
+
+    /**
+     * Bring the database up to the latest version.
+     * @return the number of migrations applied (0 on a warm start)
+     */
+    public static int migrate() throws SQLException {
+        int latest = MIGRATIONS.get(MIGRATIONS.size() - 1).version();
+        int current;
+        try (Connection conn = Database.connect()) {
+            current = currentVersion(conn);
+        }
+        if (current >= latest) {
+            return 0;
+        }
+
+        return Database.write(conn -> {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("CREATE TABLE IF NOT EXISTS schema_version (" +
+                             "version INTEGER PRIMARY KEY," +
+                             "description TEXT NOT NULL," +
+                             "applied_at TEXT NOT NULL)");
+            }
+            // Re-read under the write lock in case another instance migrated meanwhile
+            int from = currentVersion(conn);
+            int applied = 0;
+            String record = "INSERT INTO schema_version(version, description, applied_at) VALUES (?, ?, datetime('now'))";
+            for (Migration m : MIGRATIONS) {
+                if (m.version() <= from) continue;
+                m.step().apply(conn);
+                try (PreparedStatement ps = conn.prepareStatement(record)) {
+                    ps.setInt(1, m.version());
+                    ps.setString(2, m.description());
+                    ps.executeUpdate();
+                }
+                System.out.println("Applied schema migration " + m.version() + ": " + m.description());
+                applied++;
+            }
+            return applied;
+        });
+    }
+
+    /**
+     * Highest applied version, or 0 for a fresh or pre-migration database.
+     */
+    static int currentVersion(Connection conn) throws SQLException {
+        if (!hasTable(conn, "schema_version")) {
+            return 0;
+        }
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT MAX(version) FROM schema_version")) {
+            return rs.next() ? rs.getInt(1) : 0;
+        }
+    }
+
+    static boolean hasTable(Connection conn, String table) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT 1 FROM sqlite_master WHERE type = 'table' AND name = ?")) {
+            ps.setString(1, table);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    static boolean hasColumn(Connection conn, String table, String column) throws SQLException {
+        try (PreparedStatement ps = conn.prepareStatement("SELECT 1 FROM pragma_table_info(?) WHERE name = ?")) {
+            ps.setString(1, table);
+            ps.setString(2, column);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static void addColumnIfMissing(Statement stmt, String table, String column, String definition) throws SQLException {
+        if (!hasColumn(stmt.getConnection(), table, column)) {
+            stmt.executeUpdate("ALTER TABLE " + table + " ADD COLUMN " + column + " " + definition);
+        }
+    }
+
+    // ---- Migrations ------------------------------------------------------------------
+
+    /**
+     * Version 1: everything the old try/catch cascade in Database.init() used to do.
+     * On a fresh database this just creates the tables; on a database created by an
+     * older build it also performs the legacy renames and adds the late columns.
+     */
+    private static void baseline(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            // Drop old messages table if it has the wrong schema (subject column)
+            if (hasColumn(conn, "messages", "subject")) {
+                stmt.executeUpdate("DROP TABLE messages");
+                System.out.println("Dropped old messages table with incompatible schema.");
+            }
+
+            // Migrate old 'costumes' table to 'cosplays'
+            if (hasTable(conn, "costumes") && !hasTable(conn, "cosplays")) {
+                stmt.executeUpdate("ALTER TABLE costumes RENAME TO cosplays");
+                System.out.println("Migrated 'costumes' table to 'cosplays'.");
+            }
+
+            // Migrate old 'costume_id' columns
+            if (hasColumn(conn, "rentals", "costume_id") && !hasColumn(conn, "rentals", "cosplay_id")) {
+                stmt.executeUpdate("ALTER TABLE rentals RENAME COLUMN costume_id TO cosplay_id");
+                System.out.println("Migrated 'costume_id' column to 'cosplay_id' in rentals.");
+            }
+            if (hasColumn(conn, "featured_images", "costume_id") && !hasColumn(conn, "featured_images", "cosplay_id")) {
+                stmt.executeUpdate("ALTER TABLE featured_images RENAME COLUMN costume_id TO cosplay_id");
+                System.out.println("Migrated 'costume_id' column to 'cosplay_id' in featured_images.");
+            }
+
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS cosplays (" +
+                "cosplay_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "name TEXT NOT NULL," +
+                "category TEXT," +
+                "series_name TEXT," +
+                "size TEXT," +
+                "description TEXT," +
+                "image_path TEXT," +
+                "rent_rate_1day REAL," +
+                "rent_rate_2days REAL," +
+                "rent_rate_3days REAL," +
+                "add_ons TEXT" +
+                ")");
+
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS rentals (" +
+                "rental_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "cosplay_id INTEGER NOT NULL," +
+                "customer_name TEXT," +
+                "contact_number TEXT," +
+                "address TEXT," +
+                "facebook_link TEXT," +
+                "start_date TEXT NOT NULL," +   // YYYY-MM-DD
+                "end_date TEXT NOT NULL," +
+                "rent_days INTEGER DEFAULT 1," +
+                "customer_addons TEXT," +
+                "payment_method TEXT," +
+                "proof_of_payment TEXT," +
+                "selfie_photo TEXT," +
+                "id_photo TEXT," +
+                "status TEXT DEFAULT 'Pending'," +
+                "FOREIGN KEY(cosplay_id) REFERENCES cosplays(cosplay_id)" +
+                ")");
+
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS users (" +
+                "user_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "username VARCHAR(50) UNIQUE NOT NULL," +
+                "password VARCHAR(255)," +
+                "email VARCHAR(100)," +
+                "role VARCHAR(20) DEFAULT 'customer'," +
+                "email_verified INTEGER DEFAULT 0," +
+                "verification_token VARCHAR(255)," +
+                "oauth_provider VARCHAR(20)," +
+                "oauth_id VARCHAR(255)" +
+                ")");
+
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS featured_images (" +
+                "slot INTEGER PRIMARY KEY," +
+                "image_url TEXT," +
+                "title TEXT," +
+                "cosplay_id INTEGER REFERENCES cosplays(cosplay_id)" +
+                ")");
+
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS event_banners (" +
+                "id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "title TEXT NOT NULL," +
+                "message TEXT NOT NULL," +
+                "is_active INTEGER DEFAULT 0," +
+                "background_color TEXT DEFAULT '#fff4ed'," +
+                "text_color TEXT DEFAULT '#d47f47'," +
+                "link_url TEXT," +
+                "link_text TEXT," +
+                "image_path TEXT," +
+                "subtitle TEXT," +
+                "event_name TEXT," +
+                "venue TEXT," +
+                "onsite_rent_date TEXT" +
+                ")");
+
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS conversations (" +
+                "conversation_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "user_id INTEGER NOT NULL," +
+                "user_name TEXT NOT NULL," +
+                "user_email TEXT," +
+                "last_message TEXT," +
+                "last_message_time TEXT," +
+                "unread_count INTEGER DEFAULT 0," +
+                "created_at TEXT NOT NULL," +
+                "FOREIGN KEY(user_id) REFERENCES users(user_id)" +
+                ")");
+
+            stmt.execute(
+                "CREATE TABLE IF NOT EXISTS messages (" +
+                "message_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "conversation_id INTEGER NOT NULL," +
+                "sender_id INTEGER NOT NULL," +
+                "sender_name TEXT NOT NULL," +
+                "sender_email TEXT," +
+                "message TEXT NOT NULL," +
+                "timestamp TEXT NOT NULL," +
+                "is_admin_reply INTEGER DEFAULT 0," +
+                "status TEXT DEFAULT 'unread'," +
+                "FOREIGN KEY(sender_id) REFERENCES users(user_id)" +
+                ")");
+
+            // Columns added after the first release; only missing on databases from older builds
+            addColumnIfMissing(stmt, "users", "email_verified", "INTEGER DEFAULT 0");
+            addColumnIfMissing(stmt, "users", "verification_token", "VARCHAR(255)");
+            addColumnIfMissing(stmt, "users", "oauth_provider", "VARCHAR(20)");
+            addColumnIfMissing(stmt, "users", "oauth_id", "VARCHAR(255)");
+
+            addColumnIfMissing(stmt, "rentals", "rent_days", "INTEGER DEFAULT 1");
+            addColumnIfMissing(stmt, "rentals", "customer_addons", "TEXT");
+            addColumnIfMissing(stmt, "rentals", "selfie_photo", "TEXT");
+            addColumnIfMissing(stmt, "rentals", "id_photo", "TEXT");
+
+            addColumnIfMissing(stmt, "messages", "conversation_id", "INTEGER");
+            addColumnIfMissing(stmt, "messages", "is_admin_reply", "INTEGER DEFAULT 0");
+            addColumnIfMissing(stmt, "messages", "status", "TEXT DEFAULT 'unread'");
+
+            addColumnIfMissing(stmt, "featured_images", "cosplay_id", "INTEGER REFERENCES cosplays(cosplay_id)");
+
+            addColumnIfMissing(stmt, "cosplays", "series_name", "TEXT");
+            addColumnIfMissing(stmt, "cosplays", "rent_rate_1day", "REAL");
+            addColumnIfMissing(stmt, "cosplays", "rent_rate_2days", "REAL");
+            addColumnIfMissing(stmt, "cosplays", "rent_rate_3days", "REAL");
+            addColumnIfMissing(stmt, "cosplays", "add_ons", "TEXT");
+
+            addColumnIfMissing(stmt, "event_banners", "image_path", "TEXT");
+            addColumnIfMissing(stmt, "event_banners", "subtitle", "TEXT");
+            addColumnIfMissing(stmt, "event_banners", "event_name", "TEXT");
+            addColumnIfMissing(stmt, "event_banners", "venue", "TEXT");
+            addColumnIfMissing(stmt, "event_banners", "onsite_rent_date", "TEXT");
+
+            // Seed a default admin account (username: admin, password: admin)
+            String hashedPassword = PasswordUtil.hashPassword("admin");
+            try (PreparedStatement ps = conn.prepareStatement(
+                    "INSERT OR IGNORE INTO users(username,password,email,role) VALUES('admin', ?, 'admin@example.com', 'admin')")) {
+                ps.setString(1, hashedPassword);
+                ps.executeUpdate();
+            }
+            // Seed 4 featured slots if absent
+            for (int i = 1; i <= 4; i++) {
+                stmt.executeUpdate("INSERT OR IGNORE INTO featured_images(slot,image_url,title) VALUES(" + i + ", NULL, NULL)");
+            }
+        }
+    }
+
+    /**
+     * Version 2: the index catalogue. Each index names the DAO query it serves;
+     * QueryPlanCheck fails if one of those queries goes back to a full scan.
+     */
+    private static void indexes(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            // RentalDAO.isAvailable / getRentalsByCosplayId: cosplay_id + status, then the date range
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_rentals_cosplay_status_end ON rentals(cosplay_id, status, end_date)");
+            // RentalDAO.getAllRentals: ORDER BY start_date
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_rentals_start_date ON rentals(start_date)");
+            // MessageDAO.getMessagesByConversation / deleteConversation: conversation_id ORDER BY timestamp
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_messages_conversation_time ON messages(conversation_id, timestamp)");
+            // MessageDAO.getOrCreateConversation / getConversationByUserId
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_conversations_user ON conversations(user_id)");
+            // UserDAO.getUserByEmail / emailExists / resendVerificationToken / setPasswordResetToken
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_users_email ON users(email)");
+            // UserDAO.verifyEmail / getUserByVerificationToken / resetPassword
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_users_verification_token ON users(verification_token)");
+            // UserDAO.findOrCreateOAuthUser
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_users_oauth ON users(oauth_provider, oauth_id)");
+            // CosplayDAO.getDistinctCategories and category/series filters
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_cosplays_category_series ON cosplays(category, series_name)");
+            // EventBannerDAO.getActiveBanner: partial, so it stays one entry however many old banners pile up
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_event_banners_active ON event_banners(is_active) WHERE is_active = 1");
+        }
+    }
+
+    /**
+     * Version 3: rental dates become epoch days and chat timestamps epoch milliseconds
+     * (see {@link DbTime}). SQLite cannot change a column's type, so the three tables
+     * are rebuilt with INTEGER columns and their indexes recreated. Dates convert in SQL;
+     * timestamps were written with LocalDateTime.toString() in local time, so they are
+     * parsed and re-encoded in Java to use the same zone rules as the app.
+     */
+    private static void integerTimes(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(
+                "CREATE TABLE rentals_v3 (" +
+                "rental_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "cosplay_id INTEGER NOT NULL," +
+                "customer_name TEXT," +
+                "contact_number TEXT," +
+                "address TEXT," +
+                "facebook_link TEXT," +
+                "start_date INTEGER NOT NULL," +   // epoch day
+                "end_date INTEGER NOT NULL," +
+                "rent_days INTEGER DEFAULT 1," +
+                "customer_addons TEXT," +
+                "payment_method TEXT," +
+                "proof_of_payment TEXT," +
+                "selfie_photo TEXT," +
+                "id_photo TEXT," +
+                "status TEXT DEFAULT 'Pending'," +
+                "FOREIGN KEY(cosplay_id) REFERENCES cosplays(cosplay_id)" +
+                ")");
+            stmt.executeUpdate(
+                "INSERT INTO rentals_v3 (rental_id, cosplay_id, customer_name, contact_number, address, facebook_link, " +
+                "start_date, end_date, rent_days, customer_addons, payment_method, proof_of_payment, selfie_photo, id_photo, status) " +
+                "SELECT rental_id, cosplay_id, customer_name, contact_number, address, facebook_link, " +
+                "unixepoch(start_date) / 86400, unixepoch(end_date) / 86400, " +
+                "rent_days, customer_addons, payment_method, proof_of_payment, selfie_photo, id_photo, status FROM rentals");
+            stmt.execute("DROP TABLE rentals");
+            stmt.execute("ALTER TABLE rentals_v3 RENAME TO rentals");
+            stmt.execute("CREATE INDEX idx_rentals_cosplay_status_end ON rentals(cosplay_id, status, end_date)");
+            stmt.execute("CREATE INDEX idx_rentals_start_date ON rentals(start_date)");
+
+            stmt.execute(
+                "CREATE TABLE conversations_v3 (" +
+                "conversation_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "user_id INTEGER NOT NULL," +
+                "user_name TEXT NOT NULL," +
+                "user_email TEXT," +
+                "last_message TEXT," +
+                "last_message_time INTEGER," +    // epoch millis
+                "unread_count INTEGER DEFAULT 0," +
+                "created_at INTEGER NOT NULL," +  // epoch millis
+                "FOREIGN KEY(user_id) REFERENCES users(user_id)" +
+                ")");
+            stmt.executeUpdate(
+                "INSERT INTO conversations_v3 SELECT conversation_id, user_id, user_name, user_email, last_message, " +
+                "NULLIF(last_message_time, ''), unread_count, created_at FROM conversations");
+            stmt.execute("DROP TABLE conversations");
+            stmt.execute("ALTER TABLE conversations_v3 RENAME TO conversations");
+            stmt.execute("CREATE INDEX idx_conversations_user ON conversations(user_id)");
+
+            stmt.execute(
+                "CREATE TABLE messages_v3 (" +
+                "message_id INTEGER PRIMARY KEY AUTOINCREMENT," +
+                "conversation_id INTEGER NOT NULL," +
+                "sender_id INTEGER NOT NULL," +
+                "sender_name TEXT NOT NULL," +
+                "sender_email TEXT," +
+                "message TEXT NOT NULL," +
+                "timestamp INTEGER NOT NULL," +   // epoch millis
+                "is_admin_reply INTEGER DEFAULT 0," +
+                "status TEXT DEFAULT 'unread'," +
+                "FOREIGN KEY(sender_id) REFERENCES users(user_id)" +
+                ")");
+            stmt.executeUpdate(
+                "INSERT INTO messages_v3 SELECT message_id, conversation_id, sender_id, sender_name, sender_email, " +
+                "message, timestamp, is_admin_reply, status FROM messages");
+            stmt.execute("DROP TABLE messages");
+            stmt.execute("ALTER TABLE messages_v3 RENAME TO messages");
+        }
+
+        // Re-encode the copied ISO strings before the timestamp index is built
+        encodeTimestamps(conn, "conversations", "conversation_id", "created_at");
+        encodeTimestamps(conn, "conversations", "conversation_id", "last_message_time");
+        encodeTimestamps(conn, "messages", "message_id", "timestamp");
+
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX idx_messages_conversation_time ON messages(conversation_id, timestamp)");
+        }
+    }
+
+    /**
+     * Version 4: one index per catalog sort so CosplayDAO.getPage seeks straight to its
+     * cursor. The expressions must match {@code CosplaySort} exactly or SQLite won't use them.
+     * The descending sorts read the same indexes backwards.
+     */
+    private static void keysetIndexes(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_cosplays_name_nocase ON cosplays(name COLLATE NOCASE, cosplay_id)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_cosplays_price_asc ON cosplays(ifnull(rent_rate_1day, 1e308), cosplay_id)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_cosplays_price_desc ON cosplays(ifnull(rent_rate_1day, 0), cosplay_id)");
+        }
+    }
+
+    /**
+     * Version 5: CosplayDAO.search filters. The category filter is case-insensitive, so it
+     * needs a NOCASE index of its own; cosplay_id rides along as the rowid, which keeps a
+     * category page in id order without a sort.
+     */
+    private static void searchIndexes(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_cosplays_category_nocase ON cosplays(category COLLATE NOCASE)");
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_cosplays_series ON cosplays(series_name)");
+        }
+    }
+
+    /**
+     * Version 6: an FTS5 index over the catalog's text columns for CosplayDAO.search.
+     * It is an external-content table, so the text is stored once in cosplays and the
+     * triggers only maintain the index. Diacritics are folded so "pokemon" finds "Pokémon".
+     */
+    private static void catalogFullText(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute(
+                "CREATE VIRTUAL TABLE IF NOT EXISTS cosplays_fts USING fts5(" +
+                "name, series_name, category, description, add_ons, " +
+                "content='cosplays', content_rowid='cosplay_id', tokenize='unicode61 remove_diacritics 2')");
+            stmt.execute(
+                "CREATE TRIGGER IF NOT EXISTS cosplays_fts_insert AFTER INSERT ON cosplays BEGIN " +
+                "INSERT INTO cosplays_fts(rowid, name, series_name, category, description, add_ons) " +
+                "VALUES (new.cosplay_id, new.name, new.series_name, new.category, new.description, new.add_ons); " +
+                "END");
+            stmt.execute(
+                "CREATE TRIGGER IF NOT EXISTS cosplays_fts_delete AFTER DELETE ON cosplays BEGIN " +
+                "INSERT INTO cosplays_fts(cosplays_fts, rowid, name, series_name, category, description, add_ons) " +
+                "VALUES ('delete', old.cosplay_id, old.name, old.series_name, old.category, old.description, old.add_ons); " +
+                "END");
+            // Price or image changes leave the index alone
+            stmt.execute(
+                "CREATE TRIGGER IF NOT EXISTS cosplays_fts_update AFTER UPDATE OF name, series_name, category, description, add_ons ON cosplays BEGIN " +
+                "INSERT INTO cosplays_fts(cosplays_fts, rowid, name, series_name, category, description, add_ons) " +
+                "VALUES ('delete', old.cosplay_id, old.name, old.series_name, old.category, old.description, old.add_ons); " +
+                "INSERT INTO cosplays_fts(rowid, name, series_name, category, description, add_ons) " +
+                "VALUES (new.cosplay_id, new.name, new.series_name, new.category, new.description, new.add_ons); " +
+                "END");
+            stmt.execute("INSERT INTO cosplays_fts(cosplays_fts) VALUES ('rebuild')");
+        }
+    }
+
+    /**
+     * Version 7: just the rentals that hold their dates, for loading RentalDAO's
+     * AvailabilityIndex. The WHERE clause must match the loader's exactly or SQLite
+     * won't use the index. It covers the query, so the table itself is never read.
+     */
+    private static void activeRentalsIndex(Connection conn) throws SQLException {
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("CREATE INDEX IF NOT EXISTS idx_rentals_active ON rentals(cosplay_id, start_date, end_date) " +
+                         "WHERE status IN ('Pending','Confirmed','Rented')");
+        }
+    }
+
+    private static void encodeTimestamps(Connection conn, String table, String idColumn, String column) throws SQLException {
+        String select = "SELECT " + idColumn + ", " + column + " FROM " + table + " WHERE typeof(" + column + ") = 'text'";
+        String update = "UPDATE " + table + " SET " + column + " = ? WHERE " + idColumn + " = ?";
+        try (Statement stmt = conn.createStatement();
+             ResultSet rs = stmt.executeQuery(select);
+             PreparedStatement ps = conn.prepareStatement(update)) {
+            int pending = 0;
+            while (rs.next()) {
+                ps.setLong(1, DbTime.toEpochMillis(LocalDateTime.parse(rs.getString(2))));
+                ps.setInt(2, rs.getInt(1));
+                ps.addBatch();
+                if (++pending == 500) {
+                    ps.executeBatch();
+                    pending = 0;
+                }
+            }
+            if (pending > 0) {
+                ps.executeBatch();
+            }
+        }
+    }
+}
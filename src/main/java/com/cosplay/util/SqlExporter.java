@@ -0,0 +1,174 @@
+package com.cosplay.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams tables out of the database as INSERT statements.
+ * Rows go from a forward-only cursor straight into a buffered writer, so memory use
+ * does not grow with the size of the tables.
+ */
+public final class SqlExporter {
+
+    /**
+     * Exportable tables, in an order that keeps foreign keys valid on import.
+     */
+    public enum Table {
+        COSPLAYS("cosplays", null),
+        FEATURED_IMAGES("featured_images", "image_url IS NOT NULL"),
+        EVENT_BANNERS("event_banners", null),
+        USERS("users", null),
+        RENTALS("rentals", null),
+        CONVERSATIONS("conversations", null),
+        MESSAGES("messages", null);
+
+        private final String tableName;
+        private final String where;
+
+        Table(String tableName, String where) {
+            this.tableName = tableName;
+            this.where = where;
+        }
+
+        public String getTableName() {
+            return tableName;
+        }
+
+        /** Looks a table up by its SQL name, e.g. "rentals". */
+        public static Table fromName(String name) {
+            for (Table t : values()) {
+                if (t.tableName.equalsIgnoreCase(name.trim())) return t;
+            }
+            throw new IllegalArgumentException("Unknown table: " + name);
+        }
+    }
+
+    /** Catalog data that is safe to commit. Users, rentals and chats are device-specific and opt-in. */
+    public static final Set<Table> DEFAULT_TABLES = EnumSet.of(Table.COSPLAYS, Table.FEATURED_IMAGES, Table.EVENT_BANNERS);
+
+    private static final int FETCH_SIZE = 500;
+
+    private SqlExporter() {}
+
+    /**
+     * Export the given tables to a SQL file. The file is written next to the target and
+     * moved into place at the end, so a failed export never leaves a truncated file behind.
+     * @param out destination file
+     * @param tables tables to include; messages always bring their conversations along
+     * @param gzip compress the output
+     * @return number of rows written
+     */
+    public static long export(Path out, Set<Table> tables, boolean gzip) throws IOException, SQLException {
+        Set<Table> selected = tables.isEmpty() ? EnumSet.noneOf(Table.class) : EnumSet.copyOf(tables);
+        if (selected.contains(Table.MESSAGES)) {
+            selected.add(Table.CONVERSATIONS);
+        }
+
+        Path dir = out.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, out.getFileName().toString(), ".tmp");
+        long rows = 0;
+        try {
+            try (OutputStream os = Files.newOutputStream(tmp);
+                 Writer w = new BufferedWriter(new OutputStreamWriter(gzip ? new GZIPOutputStream(os) : os, StandardCharsets.UTF_8));
+                 Connection conn = Database.connect()) {
+                writeHeader(w, selected);
+                for (Table table : selected) {
+                    rows += exportTable(conn, table, w);
+                }
+            }
+            Files.move(tmp, out, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return rows;
+    }
+
+    private static void writeHeader(Writer w, Set<Table> tables) throws IOException {
+        w.write("-- Seed data for cosplay rental application\n");
+        w.write("-- Auto-generated export from database\n");
+        if (tables.equals(DEFAULT_TABLES)) {
+            w.write("-- This file can be safely committed to version control\n");
+            w.write("-- Note: Users and rentals are NOT exported (user accounts are device-specific)\n");
+        } else {
+            w.write("-- Tables: " + tables + "\n");
+            w.write("-- Dates are epoch days and chat timestamps are epoch milliseconds\n");
+        }
+        w.write('\n');
+    }
+
+    private static long exportTable(Connection conn, Table table, Writer w) throws SQLException, IOException {
+        String sql = "SELECT * FROM " + table.tableName + (table.where != null ? " WHERE " + table.where : "");
+        long rows = 0;
+        try (Statement st = conn.createStatement(ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+            st.setFetchSize(FETCH_SIZE);
+            try (ResultSet rs = st.executeQuery(sql)) {
+                ResultSetMetaData md = rs.getMetaData();
+                int columns = md.getColumnCount();
+
+                // The statement prefix is the same for every row, so build it once
+                StringBuilder prefix = new StringBuilder("INSERT OR IGNORE INTO ").append(table.tableName).append(" (");
+                for (int i = 1; i <= columns; i++) {
+                    if (i > 1) prefix.append(", ");
+                    prefix.append(md.getColumnName(i));
+                }
+                String insert = prefix.append(") VALUES (").toString();
+
+                w.write("-- " + table.tableName + "\n");
+                while (rs.next()) {
+                    w.write(insert);
+                    for (int i = 1; i <= columns; i++) {
+                        if (i > 1) w.write(", ");
+                        writeValue(w, rs.getObject(i));
+                    }
+                    w.write(");\n");
+                    rows++;
+                }
+                w.write('\n');
+            }
+        }
+        System.out.println("  " + table.tableName + ": " + rows + " rows");
+        return rows;
+    }
+
+    private static void writeValue(Writer w, Object value) throws IOException {
+        if (value == null) {
+            w.write("NULL");
+        } else if (value instanceof Number) {
+            w.write(value.toString());
+        } else if (value instanceof byte[] bytes) {
+            w.write("X'");
+            for (byte b : bytes) {
+                w.write(Character.forDigit((b >> 4) & 0xf, 16));
+                w.write(Character.forDigit(b & 0xf, 16));
+            }
+            w.write('\'');
+        } else {
+            String s = value.toString();
+            w.write('\'');
+            int from = 0;
+            for (int i = s.indexOf('\''); i >= 0; i = s.indexOf('\'', from)) {
+                w.write(s, from, i - from + 1);
+                w.write('\'');
+                from = i + 1;
+            }
+            w.write(s, from, s.length() - from);
+            w.write('\'');
+        }
+    }
+}
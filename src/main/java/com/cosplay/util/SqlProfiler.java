@@ -0,0 +1,235 @@
+package com.cosplay.util;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+/**
+ * Per-statement latency profile for everything that goes through {@link Database}.
+ *
+ * Every statement is timed, always. Statements slower than the threshold are appended to a
+ * slow-query log together with their EXPLAIN QUERY PLAN, so a query that starts scanning a
+ * table in production shows up with the plan that explains why. Timing costs two proxy hops
+ * per execute; result sets are not wrapped (see {@link ProfilingConnection}).
+ *
+ * With profiling turned on, each distinct SQL template (the prepared SQL, or a plain
+ * statement with its literals replaced by ?) also gets a count, total execute and fetch
+ * time, rows changed by updates and a latency histogram, reported at shutdown.
+ * Configured with system properties:
+ *   cosplay.sql.profile=true      also keep per-template statistics
+ *   cosplay.sql.slowMs=100        slow-query threshold in milliseconds
+ *   cosplay.sql.slowLog=logs/slow-queries.log
+ */
+public final class SqlProfiler {
+
+    private static final boolean ENABLED = Boolean.parseBoolean(System.getProperty("cosplay.sql.profile", "false"));
+    private static final long SLOW_NANOS = Long.getLong("cosplay.sql.slowMs", 100) * 1_000_000;
+    private static final Path SLOW_LOG = Paths.get(System.getProperty("cosplay.sql.slowLog", "logs/slow-queries.log"));
+    private static final long SLOW_LOG_MAX_BYTES = 1024 * 1024;
+    private static final int SLOW_LOG_FILES = 3;
+
+    // Dynamic SQL could otherwise grow the table without bound
+    private static final int MAX_TEMPLATES = 500;
+    private static final String OVERFLOW_TEMPLATE = "(other statements)";
+
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w.])-?\\d+(?:\\.\\d+)?(?![\\w.])");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private static final Map<String, Template> templates = new ConcurrentHashMap<>();
+    // Prepared SQL repeats verbatim, so normalize each distinct string once
+    private static final Map<String, String> templateBySql = new ConcurrentHashMap<>();
+    private static final Map<String, List<String>> plans = new ConcurrentHashMap<>();
+    private static final ExecutorService slowLogWriter = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "cosplay-slow-query-log");
+        t.setDaemon(true);
+        t.setPriority(Thread.MIN_PRIORITY);
+        return t;
+    });
+
+    /**
+     * Timings for one SQL template. Times are in milliseconds; percentiles are the upper
+     * bound of the histogram bucket they fall in.
+     */
+    public record QueryStats(String sql, long count, long rows, double totalMs, double executeMs, double fetchMs,
+                             double meanMs, double p50Ms, double p95Ms, double p99Ms, double maxMs, long slowCount) {
+        @Override
+        public String toString() {
+            return String.format("%7d x %9.1f ms total  mean %7.2f  p50 %7.2f  p95 %7.2f  p99 %7.2f  max %8.2f  changed %7d  slow %4d  %s",
+                    count, totalMs, meanMs, p50Ms, p95Ms, p99Ms, maxMs, rows, slowCount, sql);
+        }
+    }
+
+    private static final class Template {
+        final LatencyHistogram latency = new LatencyHistogram();
+        final AtomicLong rows = new AtomicLong();
+        final AtomicLong executeNanos = new AtomicLong();
+        final AtomicLong fetchNanos = new AtomicLong();
+        final AtomicLong slow = new AtomicLong();
+    }
+
+    private SqlProfiler() {}
+
+    /** Whether per-template statistics are kept; the slow-query log is always on. */
+    public static boolean isEnabled() {
+        return ENABLED;
+    }
+
+    static Connection wrap(Connection conn) {
+        return ProfilingConnection.wrap(conn);
+    }
+
+    static void record(String sql, long executeNanos, long fetchNanos, long rows) {
+        if (sql == null) return;
+        long total = executeNanos + fetchNanos;
+        boolean slow = total >= SLOW_NANOS;
+        if (!ENABLED && !slow) return;
+        String key = templateBySql.get(sql);
+        if (key == null) {
+            key = template(sql);
+            if (templateBySql.size() < MAX_TEMPLATES * 4) templateBySql.put(sql, key);
+        }
+        if (slow) {
+            String template = key;
+            slowLogWriter.execute(() -> logSlow(template, executeNanos, fetchNanos, rows));
+        }
+        if (!ENABLED) return;
+        Template t = templates.get(key);
+        if (t == null) {
+            if (templates.size() >= MAX_TEMPLATES) key = OVERFLOW_TEMPLATE;
+            t = templates.computeIfAbsent(key, k -> new Template());
+        }
+        t.latency.record(total);
+        t.rows.addAndGet(rows);
+        t.executeNanos.addAndGet(executeNanos);
+        t.fetchNanos.addAndGet(fetchNanos);
+        if (slow) t.slow.incrementAndGet();
+    }
+
+    /** Current statistics, slowest total time first. */
+    public static List<QueryStats> snapshot() {
+        List<QueryStats> list = new ArrayList<>();
+        templates.forEach((sql, t) -> {
+            LatencyHistogram h = t.latency;
+            if (h.count() == 0) return;
+            list.add(new QueryStats(sql, h.count(), t.rows.get(), h.totalMs(),
+                    t.executeNanos.get() / 1e6, t.fetchNanos.get() / 1e6, h.meanMs(),
+                    h.percentileMs(0.50), h.percentileMs(0.95), h.percentileMs(0.99), h.maxMs(), t.slow.get()));
+        });
+        list.sort(Comparator.comparingDouble(QueryStats::totalMs).reversed());
+        return list;
+    }
+
+    /** Human-readable table of {@link #snapshot()}, limited to the top {@code limit} templates. */
+    public static String report(int limit) {
+        StringBuilder sb = new StringBuilder("=== SQL Profile (slowest total first) ===\n");
+        List<QueryStats> stats = snapshot();
+        for (int i = 0; i < Math.min(limit, stats.size()); i++) {
+            sb.append(stats.get(i)).append('\n');
+        }
+        if (stats.size() > limit) {
+            sb.append("... ").append(stats.size() - limit).append(" more statement(s)\n");
+        }
+        return sb.toString();
+    }
+
+    public static void reset() {
+        templates.clear();
+    }
+
+    /**
+     * Normalize SQL so that statements differing only in literal values share a template.
+     */
+    static String template(String sql) {
+        String s = STRING_LITERAL.matcher(sql).replaceAll("?");
+        s = NUMBER_LITERAL.matcher(s).replaceAll("?");
+        return WHITESPACE.matcher(s).replaceAll(" ").trim();
+    }
+
+    /**
+     * EXPLAIN QUERY PLAN details for {@code sql}. Parameters are left unbound; the planner
+     * treats them as NULL, which is enough to pick indexes.
+     */
+    static List<String> explainQueryPlan(Connection conn, String sql) throws SQLException {
+        List<String> plan = new ArrayList<>();
+        try (PreparedStatement ps = conn.prepareStatement("EXPLAIN QUERY PLAN " + sql);
+             ResultSet rs = ps.executeQuery()) {
+            while (rs.next()) {
+                plan.add(rs.getString("detail"));
+            }
+        }
+        return plan;
+    }
+
+    /**
+     * A SCAN row walks the whole table (or a whole index, which is no better for a filtered query).
+     */
+    static boolean isFullScan(String detail) {
+        return detail.startsWith("SCAN ") && !detail.startsWith("SCAN CONSTANT ROW") && !isFullTextMatch(detail);
+    }
+
+    // An FTS5 MATCH lookup is reported as "SCAN t VIRTUAL TABLE INDEX 0:M..."; the M means it reads the term index
+    private static boolean isFullTextMatch(String detail) {
+        int index = detail.indexOf(" VIRTUAL TABLE INDEX ");
+        return index >= 0 && detail.indexOf(":M", index) >= 0;
+    }
+
+    private static void logSlow(String sql, long executeNanos, long fetchNanos, long rows) {
+        List<String> plan = plans.computeIfAbsent(sql, SqlProfiler::explainUnprofiled);
+        StringBuilder entry = new StringBuilder();
+        entry.append(LocalDateTime.now()).append(String.format("  %.1f ms (execute %.1f, fetch %.1f)",
+                (executeNanos + fetchNanos) / 1e6, executeNanos / 1e6, fetchNanos / 1e6));
+        if (rows > 0) entry.append("  ").append(rows).append(" rows changed");
+        entry.append(System.lineSeparator());
+        entry.append("  ").append(sql).append(System.lineSeparator());
+        for (String detail : plan) {
+            entry.append(isFullScan(detail) ? "  ! " : "    ").append(detail).append(System.lineSeparator());
+        }
+        try {
+            Files.createDirectories(SLOW_LOG.toAbsolutePath().getParent());
+            rotateIfFull();
+            Files.writeString(SLOW_LOG, entry, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            System.err.println("Could not write slow-query log: " + e.getMessage());
+        }
+    }
+
+    private static List<String> explainUnprofiled(String sql) {
+        if (sql.equals(OVERFLOW_TEMPLATE)) return List.of();
+        // A raw pool connection, so explaining doesn't record (and possibly log) itself
+        try (Connection conn = Database.connectUnwrapped()) {
+            return explainQueryPlan(conn, sql);
+        } catch (SQLException e) {
+            return List.of("(no plan: " + e.getMessage() + ")");
+        }
+    }
+
+    private static void rotateIfFull() throws IOException {
+        if (!Files.exists(SLOW_LOG) || Files.size(SLOW_LOG) < SLOW_LOG_MAX_BYTES) return;
+        for (int i = SLOW_LOG_FILES - 1; i >= 1; i--) {
+            Path older = SLOW_LOG.resolveSibling(SLOW_LOG.getFileName() + "." + i);
+            if (Files.exists(older)) {
+                Files.move(older, SLOW_LOG.resolveSibling(SLOW_LOG.getFileName() + "." + (i + 1)),
+                        StandardCopyOption.REPLACE_EXISTING);
+            }
+        }
+        Files.move(SLOW_LOG, SLOW_LOG.resolveSibling(SLOW_LOG.getFileName() + ".1"), StandardCopyOption.REPLACE_EXISTING);
+    }
+}
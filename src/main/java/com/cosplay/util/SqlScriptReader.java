@@ -0,0 +1,141 @@
+package com.cosplay.util;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+
+/**
+ * Streams SQL statements out of a script one at a time.
+ * Semicolons only end a statement when they are outside quotes and comments, so
+ * values like 'Cape; gloves; wig' survive. Comments are dropped from the output.
+ */
+public final class SqlScriptReader implements Closeable {
+    private final Reader in;
+    private final StringBuilder sql = new StringBuilder();
+    private int pushback = -1;
+    private int line = 1;
+    private int statementLine = 1;
+
+    public SqlScriptReader(Reader reader) {
+        this.in = reader instanceof BufferedReader ? reader : new BufferedReader(reader);
+    }
+
+    /**
+     * @return the next statement without its trailing semicolon, or null at end of script
+     */
+    public String next() throws IOException {
+        sql.setLength(0);
+        int c;
+        while ((c = read()) != -1) {
+            if (sql.length() == 0 && Character.isWhitespace(c)) {
+                continue;
+            }
+            if (sql.length() == 0) {
+                statementLine = line;
+            }
+            switch (c) {
+                case '\'', '"', '`' -> copyQuoted(c, c);
+                case '[' -> copyQuoted('[', ']');
+                case '-' -> {
+                    int n = read();
+                    if (n == '-') {
+                        skipLineComment();
+                    } else {
+                        sql.append('-');
+                        unread(n);
+                    }
+                }
+                case '/' -> {
+                    int n = read();
+                    if (n == '*') {
+                        skipBlockComment();
+                    } else {
+                        sql.append('/');
+                        unread(n);
+                    }
+                }
+                case ';' -> {
+                    String statement = sql.toString().trim();
+                    if (!statement.isEmpty()) {
+                        return statement;
+                    }
+                    sql.setLength(0);
+                }
+                default -> sql.append((char) c);
+            }
+        }
+        // A final statement without a semicolon still counts
+        String statement = sql.toString().trim();
+        return statement.isEmpty() ? null : statement;
+    }
+
+    /** Line in the script where the statement last returned by {@link #next()} starts. */
+    public int getStatementLine() {
+        return statementLine;
+    }
+
+    private void copyQuoted(int open, int close) throws IOException {
+        sql.append((char) open);
+        int c;
+        while ((c = read()) != -1) {
+            sql.append((char) c);
+            if (c == close) {
+                // A doubled quote is an escaped quote, not the end of the literal
+                int n = read();
+                if (n == close && open == close) {
+                    sql.append((char) n);
+                } else {
+                    unread(n);
+                    return;
+                }
+            }
+        }
+        throw new IOException("Unterminated " + (char) open + " starting near line " + statementLine);
+    }
+
+    private void skipLineComment() throws IOException {
+        int c;
+        while ((c = read()) != -1 && c != '\n') {
+            // skip
+        }
+        if (sql.length() > 0) {
+            sql.append('\n');
+        }
+    }
+
+    private void skipBlockComment() throws IOException {
+        int prev = 0;
+        int c;
+        while ((c = read()) != -1) {
+            if (prev == '*' && c == '/') {
+                sql.append(' ');
+                return;
+            }
+            prev = c;
+        }
+        throw new IOException("Unterminated block comment near line " + line);
+    }
+
+    private int read() throws IOException {
+        int c;
+        if (pushback != -1) {
+            c = pushback;
+            pushback = -1;
+        } else {
+            c = in.read();
+        }
+        if (c == '\n') line++;
+        return c;
+    }
+
+    private void unread(int c) {
+        if (c == '\n') line--;
+        pushback = c;
+    }
+
+    @Override
+    public void close() throws IOException {
+        in.close();
+    }
+}
@@ -0,0 +1,56 @@
+package com.cosplay.util;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.function.Consumer;
+
+/**
+ * JDBC connection wrapper that reports the SQL text of every statement the
+ * application prepares or executes. Only installed while a diagnostic listener
+ * is registered on {@link Database}; normal connections are never wrapped.
+ */
+final class TracingConnection implements InvocationHandler {
+    private final Object target;
+    private final Consumer<String> listener;
+
+    private TracingConnection(Object target, Consumer<String> listener) {
+        this.target = target;
+        this.listener = listener;
+    }
+
+    static Connection wrap(Connection conn, Consumer<String> listener) {
+        return (Connection) Proxy.newProxyInstance(
+            Connection.class.getClassLoader(),
+            new Class<?>[] { Connection.class },
+            new TracingConnection(conn, listener));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        boolean sqlArg = args != null && args.length > 0 && args[0] instanceof String;
+        if (sqlArg && (name.startsWith("prepare") || name.startsWith("execute") || name.equals("addBatch"))) {
+            listener.accept((String) args[0]);
+        }
+
+        Object result;
+        try {
+            result = method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+
+        // Plain statements receive their SQL at execute time, so they need wrapping too
+        if (name.equals("createStatement") && result instanceof Statement stmt) {
+            return Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[] { Statement.class },
+                new TracingConnection(stmt, listener));
+        }
+        return result;
+    }
+}